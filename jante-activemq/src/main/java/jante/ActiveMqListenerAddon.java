@@ -1,6 +1,9 @@
 package jante;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import jante.addon.RequestIdAddon;
+import jante.addon.TracingAddon;
 import jante.mq.ActiveMqListener;
 import jante.mq.MessageHandler;
 import jante.mq.MessageQueueListener;
@@ -16,6 +19,7 @@ import org.glassfish.hk2.api.ServiceLocator;
 import javax.inject.Inject;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
+import java.util.Set;
 
 import static jante.Injections.injections;
 
@@ -105,7 +109,20 @@ public class ActiveMqListenerAddon implements Addon {
 
     @Override
     public ActiveMqListenerAddon initialize(ServiceConfig.Runtime config) {
-        return this.withMqListener(new ActiveMqListener(url, user, password, queueInput, queueError));
+        return this.withMqListener(new ActiveMqListener(url, user, password, queueInput, queueError,
+                RequestIdAddon.requestIdGenerator(config), TracingAddon.spanExporter(config)));
+    }
+
+    @Override
+    public Set<Class<?>> initializeAfter() {
+        return ImmutableSet.of(RequestIdAddon.class, TracingAddon.class);
+    }
+
+    @Override
+    public void prepareShutdown() {
+        if (mqListener != null) {
+            mqListener.stopReceiving();
+        }
     }
 
     @Override
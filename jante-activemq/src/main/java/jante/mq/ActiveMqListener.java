@@ -2,6 +2,13 @@ package jante.mq;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import jante.jfr.JfrEvent;
+import jante.jfr.JfrEvents;
+import jante.log.RequestIdGenerator;
+import jante.trace.Span;
+import jante.trace.SpanExporter;
+import jante.trace.TraceContext;
+import jante.trace.Tracing;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.activemq.ActiveMQConnection;
 import org.slf4j.MDC;
@@ -19,7 +26,6 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 import static jante.model.Constants.X_REQUEST_ID;
 
@@ -34,19 +40,40 @@ public class ActiveMqListener implements MessageQueueListener {
     private final String password;
     private final String queueInput;
     private final String queueError;
-
+    private final RequestIdGenerator requestIdGenerator;
+    /**
+     * Null when tracing is off
+     */
+    private final SpanExporter spanExporter;
+
+    /**
+     * Guarded by this, as stopReceiving is called from the shutdown thread
+     */
     private boolean listenerStarted;
+    private ActiveMQConnection listenerConnection;
+    private MessageConsumer listenerConsumer;
 
     public ActiveMqListener(String url, String user, String password, String queueInput, String queueError) {
+        this(url, user, password, queueInput, queueError, RequestIdGenerator.uuidV7);
+    }
+
+    public ActiveMqListener(String url, String user, String password, String queueInput, String queueError, RequestIdGenerator requestIdGenerator) {
+        this(url, user, password, queueInput, queueError, requestIdGenerator, null);
+    }
+
+    public ActiveMqListener(String url, String user, String password, String queueInput, String queueError, RequestIdGenerator requestIdGenerator,
+                            SpanExporter spanExporter) {
         this.url = url;
         this.user = user;
         this.password = password;
         this.queueInput = queueInput;
         this.queueError = queueError;
+        this.requestIdGenerator = requestIdGenerator;
+        this.spanExporter = spanExporter;
     }
 
     @Override
-    public void receiveMessages(MessageHandler handler) {
+    public synchronized void receiveMessages(MessageHandler handler) {
         if (listenerStarted) {
             throw new RuntimeException("Listener has already been started");
         }
@@ -63,35 +90,75 @@ public class ActiveMqListener implements MessageQueueListener {
             Queue queue = session.createQueue(queueInput);
             MessageConsumer consumer = session.createConsumer(queue);
             consumer.setMessageListener(message -> handleMessage(handler, message, session));
+            listenerConnection = connection;
+            listenerConsumer = consumer;
             log.debug("Listening to {}", queueInput);
         } catch (Exception e) {
             log.error("Error starting listening to queue {}", queueInput, e);
         }
     }
 
+    @Override
+    public synchronized void stopReceiving() {
+        if (listenerConsumer == null) {
+            return;
+        }
+        log.debug("Stopping listener on {}", queueInput);
+        try {
+            // Blocks until a message listener in progress returns
+            listenerConsumer.close();
+            listenerConnection.close();
+        } catch (JMSException e) {
+            log.error("Error stopping listening to queue {}", queueInput, e);
+        } finally {
+            listenerConsumer = null;
+            listenerConnection = null;
+        }
+    }
+
     private void handleMessage(MessageHandler handler, Message message, Session session) {
         if (! (message instanceof TextMessage)) {
             return;
         }
         TextMessage textMessage = (TextMessage) message;
         String text = null;
-        String requestId = UUID.randomUUID().toString();
+        String requestId = null;
+        Span span = null;
+        JfrEvent event = null;
+        boolean failed = false;
+        if (JfrEvents.messageEnabled()) {
+            event = JfrEvents.newMessage();
+            event.begin();
+        }
         try {
             text = textMessage.getText();
-            if (! Strings.isNullOrEmpty(message.getJMSCorrelationID())) {
-                requestId = message.getJMSCorrelationID();
-            }
+            requestId = Strings.isNullOrEmpty(message.getJMSCorrelationID())
+                    ? requestIdGenerator.nextId()
+                    : message.getJMSCorrelationID();
 
             MDC.put(X_REQUEST_ID, requestId);
 
             log.info("Received message '{}'", text);
 
-            handler.handle(new ObjectMapper().readTree(text));
+            span = Tracing.startSpan("receive " + queueInput, Span.Kind.CONSUMER,
+                    TraceContext.parse(message.getStringProperty(TraceContext.TRACEPARENT)), spanExporter);
+            if (span == null) {
+                handler.handle(new ObjectMapper().readTree(text));
+            } else {
+                span.attribute("messaging.destination", queueInput);
+                try (Tracing.Scope ignored = Tracing.activate(span)) {
+                    handler.handle(new ObjectMapper().readTree(text));
+                }
+            }
         } catch (Exception e) {
+            if (span != null) {
+                span.error(true).attribute("exception", e.getClass().getName());
+            }
+            failed = true;
             log.error("Failed to process message", e);
             try {
                 TextMessage errorMessage = session.createTextMessage(text);
-                errorMessage.setJMSCorrelationID(requestId);
+                errorMessage.setJMSCorrelationID(requestId != null ? requestId : requestIdGenerator.nextId());
 
                 Queue queue = session.createQueue(queueError);
                 MessageProducer errorProducer = session.createProducer(queue);
@@ -100,6 +167,15 @@ public class ActiveMqListener implements MessageQueueListener {
                 log.error("Failed to create error message", jmse);
             }
         } finally {
+            if (span != null) {
+                span.end();
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    JfrEvents.commitMessage(event, queueInput, requestId, failed);
+                }
+            }
             MDC.remove(X_REQUEST_ID);
         }
     }
@@ -1,5 +1,8 @@
 package jante.mq;
 
+import jante.trace.Span;
+import jante.trace.TraceContext;
+import jante.trace.Tracing;
 import org.apache.activemq.ActiveMQConnection;
 import org.slf4j.MDC;
 
@@ -24,8 +27,20 @@ class ActiveMqUtils {
             TextMessage message = session.createTextMessage(text);
             message.setJMSCorrelationID(MDC.get(X_REQUEST_ID));
 
-            producer.send(message);
-            session.commit();
+            // Traced as part of the current request or message, with the exporter of its service
+            Span span = Tracing.startSpan("send " + queueName, Span.Kind.PRODUCER);
+            if (span != null) {
+                span.attribute("messaging.destination", queueName);
+                message.setStringProperty(TraceContext.TRACEPARENT, span.context.toTraceparent());
+            }
+            try {
+                producer.send(message);
+                session.commit();
+            } finally {
+                if (span != null) {
+                    span.end();
+                }
+            }
         } catch (JMSException ex) {
             throw new MessageQueueException("Could not queue message '" + text + "'", ex);
         }
@@ -3,6 +3,12 @@ package jante.mq;
 public interface MessageQueueListener {
     void receiveMessages(MessageHandler handler);
 
+    /**
+     * Stops receiving new messages. Waits for a message being handled to finish.
+     */
+    default void stopReceiving() {
+    }
+
     void requeueFailedMessages();
 
     int getErrorQueueSize();
@@ -9,17 +9,21 @@ import jante.mq.MessageHandler;
 
 import static jante.ServiceConfig.serviceConfig;
 import static jante.addon.BasicDatasourceAddon.basicDatasourceAddon;
+import static jante.addon.CompressionAddon.compressionAddon;
 import static jante.addon.CorsFilterAddon.corsFilterAddon;
+import static jante.addon.ETagAddon.etagAddon;
 import static jante.addon.ElasticsearchClientAddon.elasticsearchClientAddon;
 import static jante.addon.ElasticsearchMockAddon.elasticsearchMockAddon;
 import static jante.addon.ExceptionMapperAddon.exceptionMapperAddon;
 import static jante.addon.H2InMemoryDatasourceAddon.h2InMemoryDatasourceAddon;
 import static jante.addon.JdbiAddon.jdbiAddon;
 import static jante.addon.JerseyClientAddon.jerseyClientAddon;
+import static jante.addon.MetricsAddon.metricsAddon;
 import static jante.addon.QueryRunnerAddon.queryRunnerAddon;
 import static jante.addon.RequestIdAddon.requestIdAddon;
 import static jante.addon.ServerLogAddon.serverLogAddon;
 import static jante.addon.SwaggerAddon.swaggerAddon;
+import static jante.addon.TracingAddon.tracingAddon;
 import static jante.addon.WebAppAddon.webAppAddon;
 
 public class Addons {
@@ -28,6 +32,10 @@ public class Addons {
         return corsFilterAddon;
     }
 
+    public static ETagAddon etag() {
+        return etagAddon;
+    }
+
     public static RequestIdAddon requestId() {
         return requestIdAddon;
     }
@@ -53,6 +61,18 @@ public class Addons {
         return serverLogAddon;
     }
 
+    public static CompressionAddon compression() {
+        return compressionAddon;
+    }
+
+    public static MetricsAddon metrics() {
+        return metricsAddon;
+    }
+
+    public static TracingAddon tracing() {
+        return tracingAddon;
+    }
+
 
     /*
         <dependency>
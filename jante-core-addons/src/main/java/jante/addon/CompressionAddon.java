@@ -0,0 +1,107 @@
+package jante.addon;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import jante.JettyServer;
+import jante.model.Addon;
+import jante.model.PropertyProvider;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.Wither;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+
+/**
+ * Komprimerer responser fra api og statiske filer med gzip når klienten støtter det.
+ * Responser under minSize, og mime-typer som ikke er i mimeTypes, sendes ukomprimert. Vary: Accept-Encoding settes av jetty.
+ * For statiske filer serveres ferdigkomprimerte filer (fil.br, fil.gz) når de finnes ved siden av originalen.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompressionAddon implements Addon {
+    public static final String CONFIG_KEY_MIN_SIZE = "compression.minSize";
+    public static final String CONFIG_KEY_MIME_TYPES = "compression.mimeTypes";
+    public static final String CONFIG_KEY_COMPRESSION_LEVEL = "compression.level";
+    public static final String CONFIG_KEY_PRECOMPRESSED = "compression.precompressed";
+
+    static final String PRECOMPRESSED_INIT_PARAMETER = "org.eclipse.jetty.servlet.Default.precompressed";
+    static final String PRECOMPRESSED_FORMATS = "br=.br,gzip=.gz";
+
+    @Wither(AccessLevel.PRIVATE)
+    public final int minSize;
+    @Wither(AccessLevel.PRIVATE)
+    public final ImmutableList<String> mimeTypes;
+    /**
+     * Deflater level, -1 is the zlib default
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int compressionLevel;
+    @Wither(AccessLevel.PRIVATE)
+    public final boolean precompressed;
+
+    public static CompressionAddon compressionAddon = new CompressionAddon(
+            1024,
+            ImmutableList.of(
+                    "application/json",
+                    "application/xml",
+                    "application/javascript",
+                    "text/html",
+                    "text/plain",
+                    "text/css",
+                    "text/xml",
+                    "image/svg+xml"
+            ),
+            -1,
+            true
+    );
+
+
+    @Override
+    public Addon withProperties(PropertyProvider properties) {
+        String mimeTypeList = properties.get(CONFIG_KEY_MIME_TYPES);
+        return this
+                .minSize(properties.getWithFallback(CONFIG_KEY_MIN_SIZE, minSize))
+                .compressionLevel(properties.getWithFallback(CONFIG_KEY_COMPRESSION_LEVEL, compressionLevel))
+                .precompressed(Boolean.parseBoolean(properties.getWithFallback(CONFIG_KEY_PRECOMPRESSED, String.valueOf(precompressed))))
+                .mimeTypes(mimeTypeList == null
+                        ? mimeTypes
+                        : ImmutableList.copyOf(Splitter.on(',').trimResults().omitEmptyStrings().split(mimeTypeList))
+                );
+    }
+
+
+    @Override
+    public JettyServer addToJettyServer(JettyServer jettyServer) {
+        return jettyServer.contextMutator(context -> {
+            context.setGzipHandler(createGzipHandler());
+            if (precompressed) {
+                context.setInitParameter(PRECOMPRESSED_INIT_PARAMETER, PRECOMPRESSED_FORMATS);
+            }
+        });
+    }
+
+    private GzipHandler createGzipHandler() {
+        GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(minSize);
+        gzipHandler.setIncludedMimeTypes(mimeTypes.toArray(new String[0]));
+        gzipHandler.setIncludedMethods(HttpMethod.GET.asString(), HttpMethod.POST.asString(), HttpMethod.PUT.asString());
+        gzipHandler.setCompressionLevel(compressionLevel);
+        return gzipHandler;
+    }
+
+
+    public CompressionAddon minSize(int minSize) {
+        return withMinSize(minSize);
+    }
+
+    public CompressionAddon mimeTypes(ImmutableList<String> mimeTypes) {
+        return withMimeTypes(mimeTypes);
+    }
+
+    public CompressionAddon compressionLevel(int compressionLevel) {
+        return withCompressionLevel(compressionLevel);
+    }
+
+    public CompressionAddon precompressed(boolean precompressed) {
+        return withPrecompressed(precompressed);
+    }
+}
@@ -0,0 +1,22 @@
+package jante.addon;
+
+import jante.Injections;
+import jante.etag.ETagFilter;
+import jante.model.Addon;
+
+import static jante.Injections.injections;
+
+/**
+ * Setter sterke ETag-er på GET-responser, og svarer 304 Not Modified når If-None-Match har samme tag.
+ * Taggen er versjonen til entiteter som implementerer Versioned, ellers en hash av den serialiserte entiteten.
+ * Klienter som poller kan bruke ETagCacheFilter i StubGenerator og TargetGenerator.
+ */
+public class ETagAddon implements Addon {
+    public static ETagAddon etagAddon = new ETagAddon();
+
+    @Override
+    public Injections getInjections() {
+        return injections
+                .register(ETagFilter.class);
+    }
+}
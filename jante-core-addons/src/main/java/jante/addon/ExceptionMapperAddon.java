@@ -1,34 +1,77 @@
 package jante.addon;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
 import jante.Injections;
+import jante.ServiceConfig;
 import jante.exception.*;
+import jante.log.RequestIdGenerator;
 import jante.model.Addon;
+import jante.model.PropertyProvider;
 import jante.util.GuavaHelper;
 
 import javax.ws.rs.NotFoundException;
+import java.util.Set;
 
 /**
  * Legger til et sett med standard exceptionmappere for Jersey som mapper til problem response.
  * Logger stacktrace for de fleste exceptions, med unntak av exceptions og underexceptions satt til false i config.stacktraceConfig.
  * Config.logAllStackTraces er ment for debug-bruk.
+ * Headere logges bare for 5xx eller med debug på. Med maxLogsPerSecond over 0 logges like problemer,
+ * samme exception-klasse og status, maks så mange ganger i sekundet.
  */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class ExceptionMapperAddon implements Addon {
+    public static final String CONFIG_KEY_MAX_LOGS_PER_SECOND = "exceptionMapper.maxLogsPerSecond";
 
     @Wither(AccessLevel.PRIVATE)
     public final ImmutableMap<Class<?>, Boolean> stacktraceConfig;
+    /**
+     * For error references, from RequestIdAddon when present
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final RequestIdGenerator requestIdGenerator;
+    /**
+     * 0 logs every problem
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int maxLogsPerSecond;
+    /**
+     * Built from stacktraceConfig and maxLogsPerSecond in initialize
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final ExceptionLogPolicy logPolicy;
 
     public static ExceptionMapperAddon exceptionMapperAddon = new ExceptionMapperAddon(
             ImmutableMap.<Class<?>, Boolean>builder()
                     .put(Throwable.class, true)
                     .put(NotFoundException.class, false)
-                    .build()
+                    .build(),
+            RequestIdGenerator.uuidV7,
+            0,
+            null
     );
 
+    @Override
+    public Addon withProperties(PropertyProvider properties) {
+        return this.maxLogsPerSecond(properties.getWithFallback(CONFIG_KEY_MAX_LOGS_PER_SECOND, maxLogsPerSecond));
+    }
+
+    @Override
+    public Addon initialize(ServiceConfig.Runtime config) {
+        return this
+                .withRequestIdGenerator(RequestIdAddon.requestIdGenerator(config))
+                .withLogPolicy(new ExceptionLogPolicy(stacktraceConfig, maxLogsPerSecond));
+    }
+
+    @Override
+    public Set<Class<?>> initializeAfter() {
+        return ImmutableSet.of(RequestIdAddon.class);
+    }
+
 
     @Override
     public Injections getInjections() {
@@ -49,4 +92,8 @@ public class ExceptionMapperAddon implements Addon {
     public ExceptionMapperAddon stacktraceConfig(Class<?> key, boolean value) {
         return this.withStacktraceConfig(GuavaHelper.plus(stacktraceConfig, key, value));
     }
+
+    public ExceptionMapperAddon maxLogsPerSecond(int maxLogsPerSecond) {
+        return this.withMaxLogsPerSecond(maxLogsPerSecond);
+    }
 }
@@ -1,6 +1,7 @@
 package jante.addon;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
@@ -21,6 +22,7 @@ import javax.inject.Singleton;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.WebTarget;
 import java.net.URI;
+import java.util.Set;
 
 import static jante.Injections.injections;
 import static jante.client.ClientGenerator.clientGenerator;
@@ -69,6 +71,7 @@ public class JerseyClientAddon implements Addon {
         Client client = clientGenerator.serviceDefinition(serviceDefinition)
                 .clientConfigBase(clientConfigBase)
                 .clientAppName(clientAppName)
+                .spanExporter(TracingAddon.spanExporter(config))
                 .generate();
         StubGenerator stubGenerator = stubGenerator(client, uri);
 
@@ -78,6 +81,11 @@ public class JerseyClientAddon implements Addon {
         return withRuntime(new Runtime(client, stubGenerator, targetGenerator));
     }
 
+    @Override
+    public Set<Class<?>> initializeAfter() {
+        return ImmutableSet.of(TracingAddon.class);
+    }
+
 
     @Override
     public Injections getInjections() {
@@ -0,0 +1,40 @@
+package jante.addon;
+
+import jante.Injections;
+import jante.ServiceConfig;
+import jante.metrics.MetricsListener;
+import jante.metrics.MetricsRegistry;
+import jante.metrics.MetricsResource;
+import jante.model.Addon;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.Wither;
+
+import static jante.Injections.injections;
+
+/**
+ * Måler responstid, antall responser per statusfamilie (2xx, 4xx, ...) og pågående kall for hver ressursmetode.
+ * Målingene er tilgjengelige på api/metrics i Prometheus-format, med p50, p90, p99 og p99.9 per endepunkt.
+ * MetricsRegistry kan injiseres for å lese målingene fra egen kode.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MetricsAddon implements Addon {
+
+    @Wither(AccessLevel.PRIVATE)
+    public final MetricsRegistry registry;
+
+    public static MetricsAddon metricsAddon = new MetricsAddon(null);
+
+    @Override
+    public Addon initialize(ServiceConfig.Runtime config) {
+        return this.withRegistry(new MetricsRegistry());
+    }
+
+    @Override
+    public Injections getInjections() {
+        return injections
+                .bind(registry, MetricsRegistry.class)
+                .registerInstance(new MetricsListener(registry))
+                .register(MetricsResource.class);
+    }
+}
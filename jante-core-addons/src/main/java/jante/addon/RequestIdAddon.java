@@ -3,24 +3,54 @@ package jante.addon;
 import com.google.common.collect.ImmutableList;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.experimental.Wither;
 import jante.JettyServer;
+import jante.ServiceConfig;
+import jante.log.RequestIdGenerator;
 import jante.log.ServerRequestIdFilter;
 import jante.model.Addon;
+import jante.model.PropertyProvider;
 
 import javax.servlet.DispatcherType;
 
 /**
- * Legger til filtre for ObosLogFilter
+ * Legger til filtre for ObosLogFilter.
+ * Nye id-er lages av requestIdGenerator (requestId.generator: uuidv7, random eller secure). Den samme brukes til
+ * feilreferanser og meldinger fra kø når addonen er med.
  */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class RequestIdAddon implements Addon {
     public static final ImmutableList<DispatcherType> DEFAULT_DISPATCHES = ImmutableList.of(DispatcherType.REQUEST, DispatcherType.FORWARD, DispatcherType.ASYNC);
+    public static final String CONFIG_KEY_GENERATOR = "requestId.generator";
 
-    public static RequestIdAddon requestIdAddon = new RequestIdAddon();
+    @Wither(AccessLevel.PRIVATE)
+    public final RequestIdGenerator requestIdGenerator;
+
+    public static RequestIdAddon requestIdAddon = new RequestIdAddon(RequestIdGenerator.uuidV7);
+
+    @Override
+    public Addon withProperties(PropertyProvider properties) {
+        String generator = properties.get(CONFIG_KEY_GENERATOR);
+        return generator == null
+                ? this
+                : this.requestIdGenerator(RequestIdGenerator.named(generator));
+    }
 
     @Override
     public JettyServer addToJettyServer(JettyServer jettyServer) {
-        ServerRequestIdFilter logFilter = new ServerRequestIdFilter();
+        ServerRequestIdFilter logFilter = new ServerRequestIdFilter(requestIdGenerator);
         return jettyServer.addFilterToApi(logFilter, DEFAULT_DISPATCHES);
     }
+
+    public RequestIdAddon requestIdGenerator(RequestIdGenerator requestIdGenerator) {
+        return withRequestIdGenerator(requestIdGenerator);
+    }
+
+    /**
+     * The generator of the RequestIdAddon in the config, or uuidV7 without it
+     */
+    public static RequestIdGenerator requestIdGenerator(ServiceConfig.Runtime config) {
+        RequestIdAddon requestIdAddon = config.addons.addonInstance(RequestIdAddon.class);
+        return requestIdAddon != null ? requestIdAddon.requestIdGenerator : RequestIdGenerator.uuidV7;
+    }
 }
@@ -5,18 +5,37 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
 import jante.Injections;
+import jante.ServiceConfig;
+import jante.log.AccessLogFormat;
+import jante.log.AccessLogWriter;
 import jante.log.ServerLogFilter;
 import jante.log.ServerLogger;
 import jante.log.model.LogParams;
 import jante.model.Addon;
+import jante.model.PropertyProvider;
+import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.container.ContainerRequestContext;
+import java.util.Locale;
 import java.util.function.Predicate;
 
 import static jante.Injections.injections;
 
+/**
+ * Logger request og response for kall til api.
+ * Med async skrives loggen av en egen tråd. Kallene legger bare hendelsen i en kø, og hendelser som ikke
+ * får plass i køen telles og forkastes i stedet for å vente. Format er TEXT, KEY_VALUE eller JSON.
+ * Med sampleRate, slowMillis og maxPerSecond (eller @LogSampling) logges bare et utvalg av kallene,
+ * men feil (5xx) og trege kall logges alltid.
+ */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class ServerLogAddon implements Addon {
+    public static final String CONFIG_KEY_ASYNC = "serverlog.async";
+    public static final String CONFIG_KEY_FORMAT = "serverlog.format";
+    public static final String CONFIG_KEY_QUEUE_SIZE = "serverlog.queueSize";
+    public static final String CONFIG_KEY_SAMPLE_RATE = "serverlog.sampleRate";
+    public static final String CONFIG_KEY_SLOW_MILLIS = "serverlog.slowMillis";
+    public static final String CONFIG_KEY_MAX_PER_SECOND = "serverlog.maxPerSecond";
 
     public final ImmutableList<Predicate<ContainerRequestContext>> fastTrackFilters =
             ImmutableList.of(
@@ -29,19 +48,66 @@ public class ServerLogAddon implements Addon {
 
     @Wither(AccessLevel.PRIVATE)
     public final LogParams logParams;
+    @Wither(AccessLevel.PRIVATE)
+    public final boolean async;
+    @Wither(AccessLevel.PRIVATE)
+    public final AccessLogFormat format;
+    @Wither(AccessLevel.PRIVATE)
+    public final int queueSize;
+    @Wither(AccessLevel.PRIVATE)
+    public final AccessLogWriter accessLogWriter;
+
+    public static final ServerLogAddon serverLogAddon = new ServerLogAddon(LogParams.defaults, false, AccessLogFormat.TEXT, 8192, null);
 
-    public static final ServerLogAddon serverLogAddon = new ServerLogAddon(LogParams.defaults);
 
+    @Override
+    public Addon withProperties(PropertyProvider properties) {
+        return this
+                .async(Boolean.parseBoolean(properties.getWithFallback(CONFIG_KEY_ASYNC, String.valueOf(async))))
+                .format(AccessLogFormat.valueOf(properties.getWithFallback(CONFIG_KEY_FORMAT, format.name()).toUpperCase(Locale.ROOT)))
+                .queueSize(properties.getWithFallback(CONFIG_KEY_QUEUE_SIZE, queueSize))
+                .logParams(logParams
+                        .sampleRate(properties.getWithFallback(CONFIG_KEY_SAMPLE_RATE, logParams.sampleRate))
+                        .slowMillis(Long.parseLong(properties.getWithFallback(CONFIG_KEY_SLOW_MILLIS, String.valueOf(logParams.slowMillis))))
+                        .maxPerSecond(properties.getWithFallback(CONFIG_KEY_MAX_PER_SECOND, logParams.maxPerSecond))
+                );
+    }
+
+    @Override
+    public Addon initialize(ServiceConfig.Runtime config) {
+        return async
+                ? this.withAccessLogWriter(new AccessLogWriter(queueSize, format, LoggerFactory.getLogger(ServerLogger.class)))
+                : this;
+    }
 
     @Override
     public Injections getInjections() {
-        ServerLogger serverLogger = new ServerLogger(fastTrackFilters, logParams);
+        ServerLogger serverLogger = new ServerLogger(fastTrackFilters, logParams, format, accessLogWriter);
         return injections
                 .bind(serverLogger, ServerLogger.class)
                 .register(ServerLogFilter.class);
     }
 
+    @Override
+    public void cleanUp() {
+        if (accessLogWriter != null) {
+            accessLogWriter.close();
+        }
+    }
+
     public ServerLogAddon logParams(LogParams logParams) {
         return withLogParams(logParams);
     }
+
+    public ServerLogAddon async(boolean async) {
+        return withAsync(async);
+    }
+
+    public ServerLogAddon format(AccessLogFormat format) {
+        return withFormat(format);
+    }
+
+    public ServerLogAddon queueSize(int queueSize) {
+        return withQueueSize(queueSize);
+    }
 }
@@ -0,0 +1,102 @@
+package jante.addon;
+
+import com.google.common.collect.ImmutableList;
+import jante.JettyServer;
+import jante.ServiceConfig;
+import jante.model.Addon;
+import jante.model.PropertyProvider;
+import jante.trace.FileSpanExporter;
+import jante.trace.LogSpanExporter;
+import jante.trace.SpanExporter;
+import jante.trace.TracingServletFilter;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.Wither;
+
+import javax.servlet.DispatcherType;
+import java.nio.file.Paths;
+
+/**
+ * Sporing (tracing) av kall på tvers av tjenester med W3C traceparent.
+ * Lager et server-span for hvert kall til api, og barn av det for kall med klienter fra StubGenerator og TargetGenerator,
+ * og for meldinger sendt og mottatt med ActiveMQ. Ferdige span skrives som JSON-linjer til loggen (exporter=log)
+ * eller til en fil (exporter=file og tracing.file), uten behov for en collector.
+ * <p>
+ * Exporteren tilhører tjenesten: den gis til servlet-filteret, bindes i klienter fra JerseyClientAddon og gis til
+ * ActiveMqListenerAddon. Flere tjenester i samme JVM sporer dermed hver for seg.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TracingAddon implements Addon {
+    public static final String CONFIG_KEY_EXPORTER = "tracing.exporter";
+    public static final String CONFIG_KEY_FILE = "tracing.file";
+
+    public static final String EXPORTER_LOG = "log";
+    public static final String EXPORTER_FILE = "file";
+
+    @Wither(AccessLevel.PRIVATE)
+    public final String exporterName;
+    @Wither(AccessLevel.PRIVATE)
+    public final String file;
+    /**
+     * Used instead of exporterName when set
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final SpanExporter exporter;
+
+    public static TracingAddon tracingAddon = new TracingAddon(EXPORTER_LOG, "spans.json", null);
+
+    @Override
+    public Addon withProperties(PropertyProvider properties) {
+        return this
+                .exporterName(properties.getWithFallback(CONFIG_KEY_EXPORTER, exporterName))
+                .file(properties.getWithFallback(CONFIG_KEY_FILE, file));
+    }
+
+    @Override
+    public Addon initialize(ServiceConfig.Runtime config) {
+        return exporter != null ? this : this.withExporter(createExporter());
+    }
+
+    @Override
+    public JettyServer addToJettyServer(JettyServer jettyServer) {
+        return jettyServer.addFilterToApi(new TracingServletFilter(exporter), ImmutableList.of(DispatcherType.REQUEST));
+    }
+
+    @Override
+    public void cleanUp() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    private SpanExporter createExporter() {
+        switch (exporterName) {
+            case EXPORTER_LOG:
+                return new LogSpanExporter();
+            case EXPORTER_FILE:
+                return new FileSpanExporter(Paths.get(file));
+            default:
+                throw new IllegalArgumentException("Unknown span exporter " + exporterName + ", expected " + EXPORTER_LOG + " or " + EXPORTER_FILE);
+        }
+    }
+
+    public TracingAddon exporterName(String exporterName) {
+        return withExporterName(exporterName);
+    }
+
+    public TracingAddon file(String file) {
+        return withFile(file);
+    }
+
+    public TracingAddon exporter(SpanExporter exporter) {
+        return withExporter(exporter);
+    }
+
+    /**
+     * The exporter of the TracingAddon in the config, or null without it
+     */
+    public static SpanExporter spanExporter(ServiceConfig.Runtime config) {
+        TracingAddon tracingAddon = config.addons.addonInstance(TracingAddon.class);
+        return tracingAddon != null ? tracingAddon.exporter : null;
+    }
+}
@@ -0,0 +1,93 @@
+package jante.etag;
+
+import com.google.common.hash.Hashing;
+import jante.model.Constants;
+import jante.model.Versioned;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.stream.BaseStream;
+
+/**
+ * Strong ETags for GET responses, and 304 Not Modified when If-None-Match has the tag.
+ * <p>
+ * The tag is the version of Versioned entities, and otherwise a hash of the serialized entity. Hashed entities are
+ * serialized here once, and the bytes are sent as the entity. Runs after the other response filters, so the bytes
+ * are in the media type chosen for the response. Streamed entities and pretty printed responses get no tag.
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class ETagFilter implements ContainerResponseFilter {
+    @Context
+    Providers providers;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod()) || response.getStatus() != Response.Status.OK.getStatusCode()
+                || !response.hasEntity() || response.getHeaders().containsKey(HttpHeaders.ETAG)) {
+            return;
+        }
+        EntityTag tag = entityTag(request, response);
+        if (tag == null) {
+            return;
+        }
+        response.getHeaders().add(HttpHeaders.ETAG, tag);
+        if (request.getRequest().evaluatePreconditions(tag) != null) {
+            response.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+            response.setEntity(null);
+        }
+    }
+
+    private EntityTag entityTag(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+        Object entity = response.getEntity();
+        MediaType mediaType = response.getMediaType();
+        if (entity instanceof Versioned) {
+            // Representations in other media types have other tags
+            return new EntityTag(((Versioned) entity).entityVersion() + "-" + (mediaType != null ? mediaType.getSubtype() : ""));
+        }
+        if (isStreamed(entity) || request.getProperty(Constants.PRETTY_PRINT_PROPERTY) != null) {
+            return null;
+        }
+        byte[] serialized = serialize(response);
+        if (serialized == null) {
+            return null;
+        }
+        response.setEntity(serialized, response.getEntityAnnotations(), mediaType);
+        return new EntityTag(Hashing.murmur3_128().hashBytes(serialized).toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(ContainerResponseContext response) throws IOException {
+        MessageBodyWriter<Object> writer = (MessageBodyWriter<Object>) providers.getMessageBodyWriter(
+                response.getEntityClass(), response.getEntityType(), response.getEntityAnnotations(), response.getMediaType()
+        );
+        if (writer == null) {
+            return null;
+        }
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        writer.writeTo(response.getEntity(), response.getEntityClass(), response.getEntityType(),
+                response.getEntityAnnotations(), response.getMediaType(), response.getHeaders(), serialized);
+        return serialized.toByteArray();
+    }
+
+    static boolean isStreamed(Object entity) {
+        return entity instanceof InputStream || entity instanceof Reader || entity instanceof File
+                || entity instanceof StreamingOutput || entity instanceof BaseStream;
+    }
+}
@@ -0,0 +1,81 @@
+package jante.exception;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logging decisions for mapped exceptions, made once per exception class instead of for every exception.
+ * <p>
+ * With maxPerSecond above 0, identical problems, same exception class and status, are logged at most maxPerSecond
+ * times a second, using the same token bucket as LogSampler. The next problem logged tells how many were suppressed.
+ */
+public final class ExceptionLogPolicy {
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    static final long SUPPRESSED = -1;
+
+    private final ClassValue<Boolean> stacktraces;
+    private final long nanosPerToken;
+    private final Map<ProblemKey, RateLimit> rateLimits = new ConcurrentHashMap<>();
+
+    public ExceptionLogPolicy(ImmutableMap<Class<?>, Boolean> stacktraceConfig, int maxPerSecond) {
+        this.stacktraces = new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return GenericExceptionHandler.shouldPrintStacktrace(type, stacktraceConfig);
+            }
+        };
+        this.nanosPerToken = maxPerSecond > 0 ? SECOND_NANOS / maxPerSecond : 0;
+    }
+
+    public boolean shouldPrintStacktrace(Throwable throwable) {
+        return stacktraces.get(throwable.getClass());
+    }
+
+    /**
+     * @return SUPPRESSED if the problem is not to be logged, otherwise the number of problems suppressed since the last one logged
+     */
+    public long tryLog(Throwable throwable, int status) {
+        if (nanosPerToken == 0) {
+            return 0;
+        }
+        return tryLog(throwable.getClass(), status, System.nanoTime());
+    }
+
+    long tryLog(Class<?> type, int status, long nowNanos) {
+        RateLimit rateLimit = rateLimits.computeIfAbsent(new ProblemKey(type, status), key -> new RateLimit());
+        if (!rateLimit.tryAcquireToken(nowNanos, nanosPerToken)) {
+            rateLimit.suppressed.incrementAndGet();
+            return SUPPRESSED;
+        }
+        return rateLimit.suppressed.getAndSet(0);
+    }
+
+    @Value
+    private static class ProblemKey {
+        Class<?> type;
+        int status;
+    }
+
+    private static class RateLimit {
+        final AtomicLong bucketFullAtNanos = new AtomicLong(Long.MIN_VALUE);
+        final AtomicLong suppressed = new AtomicLong();
+
+        boolean tryAcquireToken(long nowNanos, long nanosPerToken) {
+            while (true) {
+                long fullAt = bucketFullAtNanos.get();
+                long next = Math.max(fullAt, nowNanos) + nanosPerToken;
+                if (next - nowNanos > SECOND_NANOS) {
+                    return false;
+                }
+                if (bucketFullAtNanos.compareAndSet(fullAt, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
 import jante.addon.ExceptionMapperAddon;
+import jante.log.RequestIdGenerator;
 import jante.model.ExceptionDescription;
 import jante.model.HttpProblem;
 import jante.model.LogLevel;
@@ -20,7 +21,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 
 @Slf4j
 public class GenericExceptionHandler {
@@ -62,16 +62,20 @@ public class GenericExceptionHandler {
         }
 
         if (problem.reference == null) {
-            withDefaults = withDefaults.reference(lagFeilreferanse());
+            withDefaults = withDefaults.reference(config != null ? config.requestIdGenerator.nextId() : lagFeilreferanse());
         }
 
         if (problem.logLevel == null) {
             withDefaults = withDefaults.logLevel(LogLevel.ERROR);
         }
 
-        if (config != null) {
+        if (problem.exception instanceof Stackless) {
+            withDefaults = withDefaults.logStackTrace(false);
+        } else if (config != null) {
             if (problem.logStackTrace == null) {
-                withDefaults = withDefaults.logStackTrace(shouldPrintStacktrace(problem.exception, config.stacktraceConfig));
+                withDefaults = withDefaults.logStackTrace(config.logPolicy != null
+                        ? config.logPolicy.shouldPrintStacktrace(problem.exception)
+                        : shouldPrintStacktrace(problem.exception, config.stacktraceConfig));
             }
         } else {
             if (problem.logStackTrace == null) {
@@ -118,23 +122,39 @@ public class GenericExceptionHandler {
     }
 
     public void logProblem(ExceptionDescription problem) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Caught exception of type: %s\n", problem.exception.getClass().getName()));
-        sb.append(String.format("Exception message: %s\n", problem.exception.getLocalizedMessage()));
+        if (!LogUtil.isEnabled(problem.logLevel, problem.logger)) {
+            return;
+        }
+        long suppressed = 0;
+        if (config != null && config.logPolicy != null && problem.status != null) {
+            suppressed = config.logPolicy.tryLog(problem.exception, problem.status);
+            if (suppressed == ExceptionLogPolicy.SUPPRESSED) {
+                return;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("Caught exception of type: ").append(problem.exception.getClass().getName()).append('\n');
+        sb.append("Exception message: ").append(problem.exception.getLocalizedMessage()).append('\n');
         if (problem.status != null && ! Strings.isNullOrEmpty(problem.title)) {
-            sb.append(String.format("Problem type: %d - %s\n", problem.status, problem.title));
+            sb.append("Problem type: ").append(problem.status).append(" - ").append(problem.title).append('\n');
         }
         if (! Strings.isNullOrEmpty(problem.detail)) {
-            sb.append(String.format("Detail message: %s\n", problem.detail));
+            sb.append("Detail message: ").append(problem.detail).append('\n');
         }
         if (! Strings.isNullOrEmpty(problem.reference)) {
-            sb.append(String.format("Feilreferanse: %s\n", problem.reference));
+            sb.append("Feilreferanse: ").append(problem.reference).append('\n');
         }
         if (! Strings.isNullOrEmpty(problem.internalMessage)) {
-            sb.append(String.format("Additional info: %s\n", problem.internalMessage));
+            sb.append("Additional info: ").append(problem.internalMessage).append('\n');
         }
-        sb.append("Incoming server headers:\n");
-        sb.append(getContextDescription());
+        if (suppressed > 0) {
+            sb.append("Similar problems suppressed: ").append(suppressed).append('\n');
+        }
+        // Headers only for server errors, or when debugging, as expected 4xx problems can be frequent
+        boolean includeHeaders = problem.logger.isDebugEnabled() || (problem.status != null && problem.status >= 500);
+        sb.append(includeHeaders ? "Incoming server headers:\n" : "Incoming request:\n");
+        appendContextDescription(sb, includeHeaders);
         if (problem.logStackTrace) {
             LogUtil.doLog(sb.toString(), problem.exception, problem.logLevel, problem.logger);
         } else {
@@ -144,31 +164,37 @@ public class GenericExceptionHandler {
 
     public String getContextDescription() {
         StringBuilder sb = new StringBuilder();
+        appendContextDescription(sb, true);
+        return sb.toString();
+    }
+
+    private void appendContextDescription(StringBuilder sb, boolean includeHeaders) {
         if (request != null) {
             if (! Strings.isNullOrEmpty(request.getRequestURI())) {
-                String method = Strings.nullToEmpty(request.getMethod());
-                String query = (Strings.isNullOrEmpty(request.getQueryString())) ? "" : "?" + request.getQueryString();
-                sb.append(String.format("  uri: %s %s%s\n", method, request.getRequestURI(), query));
+                sb.append("  uri: ").append(Strings.nullToEmpty(request.getMethod())).append(' ').append(request.getRequestURI());
+                if (! Strings.isNullOrEmpty(request.getQueryString())) {
+                    sb.append('?').append(request.getQueryString());
+                }
+                sb.append('\n');
             }
             if (request.getUserPrincipal() != null) {
-                sb.append(String.format("  userPrincipal: %s\n", request.getUserPrincipal().toString()));
+                sb.append("  userPrincipal: ").append(request.getUserPrincipal()).append('\n');
             }
             if (request.getRemoteAddr() != null) {
-                sb.append(String.format("  remoteAddr: %s\n", request.getRemoteAddr()));
+                sb.append("  remoteAddr: ").append(request.getRemoteAddr()).append('\n');
             }
         } else {
             log.warn("Request context null in exceptionUtil");
         }
 
-        if (headers != null) {
+        if (includeHeaders && headers != null) {
             Joiner joiner = Joiner.on(", ").skipNulls();
             headers.getRequestHeaders().forEach((headerName, value) -> {
-                String headerValue = joiner.join(value);
-                sb.append(String.format("  Header: %s = %s\n", headerName, headerValue));
+                sb.append("  Header: ").append(headerName).append(" = ");
+                joiner.appendTo(sb, value);
+                sb.append('\n');
             });
         }
-        return sb.toString();
-
     }
 
 
@@ -189,11 +215,18 @@ public class GenericExceptionHandler {
 
 
     public static String lagFeilreferanse() {
-        return UUID.randomUUID().toString();
+        return RequestIdGenerator.uuidV7.nextId();
     }
 
     public static boolean shouldPrintStacktrace(Throwable throwable, Map<Class<?>, Boolean> config) {
-        Class<?> clazz = throwable.getClass();
+        return shouldPrintStacktrace(throwable.getClass(), config);
+    }
+
+    /**
+     * Walks the class hierarchy. ExceptionLogPolicy caches the result per class.
+     */
+    static boolean shouldPrintStacktrace(Class<?> exceptionClass, Map<Class<?>, Boolean> config) {
+        Class<?> clazz = exceptionClass;
         while (clazz.getSuperclass() != null && ! Throwable.class.equals(clazz.getSuperclass())) {
             if (config.containsKey(clazz)) {
                 return config.get(clazz) == Boolean.TRUE;
@@ -29,7 +29,7 @@ public class HttpProblemExceptionMapper implements ExceptionMapper<HttpProblemEx
                             .title(problem.title)
                             .type(problem.type)
                             .context(problem.getContext())
-                            .logStackTrace(exception.isLogStacktrace())
+                            .logStackTrace(exception.isLogStacktrace() && !(exception instanceof Stackless))
                             .logLevel(exception.getLogLevel())
                             .logger(log);
                 }
@@ -0,0 +1,215 @@
+package jante.log;
+
+import jante.log.model.AccessLogEvent;
+
+import java.util.Map;
+
+/**
+ * Formats of access log lines. Formatting appends to a StringBuilder, which the writer thread reuses between lines.
+ */
+public enum AccessLogFormat {
+    /**
+     * The classic format, e.g. "GET path, Status: 200, Millis: 3"
+     */
+    TEXT {
+        @Override
+        void format(AccessLogEvent event, StringBuilder out) {
+            out.append(event.uri);
+            if (event.status != null) {
+                out.append(", Status: ").append(event.status);
+            }
+            if (event.totalMillis != null) {
+                out.append(", Millis: ").append(event.totalMillis);
+            }
+            if (event.clientApplication != null) {
+                out.append(", Client: ").append(event.clientApplication);
+            }
+            if (event.user != null) {
+                out.append(", User: ").append(event.user);
+            }
+            if (event.headers != null) {
+                out.append(", Headers: [");
+                boolean first = true;
+                for (Map.Entry<String, String> header : event.headers.entrySet()) {
+                    if (!event.logParams.skipHeaders.contains(header.getKey())) {
+                        out.append(first ? "" : ", ").append(header.getKey()).append(": ").append(header.getValue());
+                        first = false;
+                    }
+                }
+                out.append(']');
+            }
+            if (event.entity != null) {
+                out.append(", Entity: ");
+                appendCompacted(event.entity, out);
+            }
+        }
+    },
+    /**
+     * Space separated key=value pairs. Values with spaces, quotes or equals signs are quoted.
+     */
+    KEY_VALUE {
+        @Override
+        void format(AccessLogEvent event, StringBuilder out) {
+            out.append("type=").append(event.type.label);
+            out.append(" timestamp=").append(event.timestampMillis);
+            appendKeyValue(out, "requestId", event.requestId);
+            appendKeyValue(out, "uri", event.uri);
+            if (event.status != null) {
+                out.append(" status=").append(event.status);
+            }
+            if (event.totalMillis != null) {
+                out.append(" millis=").append(event.totalMillis);
+            }
+            appendKeyValue(out, "client", event.clientApplication);
+            appendKeyValue(out, "user", event.user);
+            if (event.headers != null) {
+                for (Map.Entry<String, String> header : event.headers.entrySet()) {
+                    if (!event.logParams.skipHeaders.contains(header.getKey())) {
+                        appendKeyValue(out, "header." + header.getKey(), header.getValue());
+                    }
+                }
+            }
+            if (event.entity != null) {
+                StringBuilder entity = new StringBuilder(event.entity.length());
+                appendCompacted(event.entity, entity);
+                appendKeyValue(out, "entity", entity);
+            }
+        }
+
+        private void appendKeyValue(StringBuilder out, String key, CharSequence value) {
+            if (value == null) {
+                return;
+            }
+            out.append(' ').append(key).append('=');
+            if (!needsQuotes(value)) {
+                out.append(value);
+                return;
+            }
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.append('\\');
+                }
+                out.append(c);
+            }
+            out.append('"');
+        }
+
+        private boolean needsQuotes(CharSequence value) {
+            if (value.length() == 0) {
+                return true;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c <= ' ' || c == '"' || c == '=' || c == '\\') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    },
+    /**
+     * One JSON object per line
+     */
+    JSON {
+        @Override
+        void format(AccessLogEvent event, StringBuilder out) {
+            out.append("{\"type\":\"").append(event.type.label).append('"');
+            out.append(",\"timestamp\":").append(event.timestampMillis);
+            appendField(out, "requestId", event.requestId);
+            appendField(out, "uri", event.uri);
+            if (event.status != null) {
+                out.append(",\"status\":").append(event.status);
+            }
+            if (event.totalMillis != null) {
+                out.append(",\"millis\":").append(event.totalMillis);
+            }
+            appendField(out, "client", event.clientApplication);
+            appendField(out, "user", event.user);
+            if (event.headers != null) {
+                out.append(",\"headers\":{");
+                boolean first = true;
+                for (Map.Entry<String, String> header : event.headers.entrySet()) {
+                    if (!event.logParams.skipHeaders.contains(header.getKey())) {
+                        out.append(first ? "" : ",");
+                        appendString(out, header.getKey());
+                        out.append(':');
+                        appendString(out, header.getValue());
+                        first = false;
+                    }
+                }
+                out.append('}');
+            }
+            appendField(out, "entity", event.entity);
+            out.append('}');
+        }
+
+        private void appendField(StringBuilder out, String name, String value) {
+            if (value == null) {
+                return;
+            }
+            out.append(",\"").append(name).append("\":");
+            appendString(out, value);
+        }
+
+        private void appendString(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            out.append('"');
+        }
+    };
+
+    abstract void format(AccessLogEvent event, StringBuilder out);
+
+    /**
+     * Appends the lines of the text trimmed and joined by single spaces, without splitting it into strings
+     */
+    static void appendCompacted(String text, StringBuilder out) {
+        int lineStart = 0;
+        while (lineStart <= text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            if (lineStart > 0) {
+                out.append(' ');
+            }
+            out.append(text, start, end);
+            lineStart = lineEnd + 1;
+        }
+    }
+}
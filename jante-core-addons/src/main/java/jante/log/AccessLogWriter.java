@@ -0,0 +1,100 @@
+package jante.log;
+
+import jante.log.model.AccessLogEvent;
+import jante.util.LogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Formats and writes access log events on a background thread. Request threads only put the event in a ring buffer.
+ * When the buffer is full, events are dropped and counted rather than blocking the request. The count of dropped
+ * events is logged as a warning by the writer thread.
+ */
+@Slf4j
+public class AccessLogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    private final RingBuffer<AccessLogEvent> events;
+    private final AccessLogFormat format;
+    private final Logger accessLog;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    public AccessLogWriter(int queueSize, AccessLogFormat format, Logger accessLog) {
+        this.events = new RingBuffer<>(queueSize);
+        this.format = format;
+        this.accessLog = accessLog;
+        this.writerThread = new Thread(this::run, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * False if the event was dropped because the queue is full, or the writer is closed
+     */
+    public boolean offer(AccessLogEvent event) {
+        if (closed || !events.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public int queueSize() {
+        return events.capacity();
+    }
+
+    /**
+     * Writes the events already queued and stops the writer thread
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        StringBuilder line = new StringBuilder(256);
+        long reportedDropped = 0;
+        while (true) {
+            AccessLogEvent event = events.poll();
+            if (event != null) {
+                write(event, line);
+                continue;
+            }
+            long droppedNow = dropped.sum();
+            if (droppedNow > reportedDropped) {
+                log.warn("Access log queue full, dropped {} events, {} in total", droppedNow - reportedDropped, droppedNow);
+                reportedDropped = droppedNow;
+            }
+            if (closed) {
+                return;
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+
+    private void write(AccessLogEvent event, StringBuilder line) {
+        line.setLength(0);
+        try {
+            format.format(event, line);
+            LogUtil.doLog(line.toString(), event.logParams.logLevel, accessLog);
+        } catch (RuntimeException e) {
+            log.error("Failed to write access log event {}", event.uri, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package jante.log;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed number of reusable byte arrays, shared between threads without locking.
+ * When all are in use, a new array is allocated, and arrays released to a full pool are left to the garbage collector.
+ */
+final class BufferPool {
+    private final int bufferSize;
+    private final AtomicReferenceArray<byte[]> buffers;
+
+    BufferPool(int buffers, int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.buffers = new AtomicReferenceArray<>(buffers);
+    }
+
+    byte[] acquire() {
+        for (int i = 0; i < buffers.length(); i++) {
+            byte[] buffer = buffers.getAndSet(i, null);
+            if (buffer != null) {
+                return buffer;
+            }
+        }
+        return new byte[bufferSize];
+    }
+
+    void release(byte[] buffer) {
+        for (int i = 0; i < buffers.length(); i++) {
+            if (buffers.get(i) == null && buffers.compareAndSet(i, null, buffer)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package jante.log;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Copies the first bytes of the entity to a pooled buffer while the application reads it, so the entity is not read
+ * ahead of the application. Only the bytes the application has read are captured.
+ * Mark and reset are not supported, as reset would capture bytes twice.
+ */
+final class EntityCaptureInputStream extends FilterInputStream {
+    private final BufferPool pool;
+    private final Charset charset;
+    private byte[] buffer;
+    private int captured;
+    private boolean truncated;
+    private String entity;
+
+    EntityCaptureInputStream(InputStream in, BufferPool pool, Charset charset) {
+        super(in);
+        this.pool = pool;
+        this.charset = charset;
+        this.buffer = pool.acquire();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            capture(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            capture(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private synchronized void capture(int b) {
+        if (buffer == null) {
+            return;
+        }
+        if (captured < buffer.length) {
+            buffer[captured++] = (byte) b;
+        } else {
+            truncated = true;
+        }
+    }
+
+    private synchronized void capture(byte[] b, int off, int len) {
+        if (buffer == null) {
+            return;
+        }
+        int toCopy = Math.min(len, buffer.length - captured);
+        System.arraycopy(b, off, buffer, captured, toCopy);
+        captured += toCopy;
+        truncated |= toCopy < len;
+    }
+
+    /**
+     * The captured bytes as text, with "..." appended if the entity was longer. Null if nothing was read.
+     * Returns the buffer to the pool; bytes read after this are not captured.
+     */
+    synchronized String entity() {
+        if (buffer != null) {
+            if (captured > 0) {
+                entity = new String(buffer, 0, captured, charset) + (truncated ? "..." : "");
+            }
+            pool.release(buffer);
+            buffer = null;
+        }
+        return entity;
+    }
+}
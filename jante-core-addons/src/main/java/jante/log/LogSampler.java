@@ -0,0 +1,55 @@
+package jante.log;
+
+import jante.log.model.LogParams;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which calls to one endpoint are logged, from sampleRate, slowMillis and maxPerSecond in LogParams.
+ * The decision for the request line is made when the request arrives. The response line is also logged for
+ * errors (5xx) and slow calls, even when the request was not sampled.
+ * <p>
+ * maxPerSecond is a token bucket holding up to one second of tokens, implemented as the generic cell rate
+ * algorithm: one AtomicLong with the time the bucket is full again, updated by compare-and-set.
+ */
+public final class LogSampler {
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public final LogParams logParams;
+    private final AtomicLong requests = new AtomicLong();
+    private final long nanosPerToken;
+    private final AtomicLong bucketFullAtNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public LogSampler(LogParams logParams) {
+        this.logParams = logParams;
+        this.nanosPerToken = logParams.maxPerSecond > 0 ? SECOND_NANOS / logParams.maxPerSecond : 0;
+    }
+
+    public boolean sampleRequest() {
+        if (logParams.sampleRate > 1 && requests.getAndIncrement() % logParams.sampleRate != 0) {
+            return false;
+        }
+        return nanosPerToken == 0 || tryAcquireToken(System.nanoTime());
+    }
+
+    public boolean logResponse(boolean requestSampled, int status, Long totalMillis) {
+        if (requestSampled || status >= 500) {
+            return true;
+        }
+        return logParams.slowMillis > 0 && totalMillis != null && totalMillis >= logParams.slowMillis;
+    }
+
+    boolean tryAcquireToken(long nowNanos) {
+        while (true) {
+            long fullAt = bucketFullAtNanos.get();
+            long next = Math.max(fullAt, nowNanos) + nanosPerToken;
+            if (next - nowNanos > SECOND_NANOS) {
+                return false;
+            }
+            if (bucketFullAtNanos.compareAndSet(fullAt, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package jante.log;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates ids for requests, messages and error references. The default, uuidV7, sorts by creation time and uses
+ * ThreadLocalRandom, which does not contend between threads like the SecureRandom behind UUID.randomUUID.
+ * These ids are for correlation only, and are not to be used as secrets.
+ */
+@FunctionalInterface
+public interface RequestIdGenerator {
+    String CONFIG_VALUE_UUID_V7 = "uuidv7";
+    String CONFIG_VALUE_RANDOM = "random";
+    String CONFIG_VALUE_SECURE = "secure";
+
+    String nextId();
+
+    /**
+     * UUID version 7 (RFC 9562): milliseconds since epoch in the first 48 bits, the rest random.
+     * Ids sort by time to the millisecond.
+     */
+    RequestIdGenerator uuidV7 = () -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    };
+
+    /**
+     * UUID version 4 from ThreadLocalRandom
+     */
+    RequestIdGenerator randomUuid = () -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x4000L;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    };
+
+    /**
+     * UUID.randomUUID, as before
+     */
+    RequestIdGenerator secureRandomUuid = () -> UUID.randomUUID().toString();
+
+    static RequestIdGenerator named(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case CONFIG_VALUE_UUID_V7:
+                return uuidV7;
+            case CONFIG_VALUE_RANDOM:
+                return randomUuid;
+            case CONFIG_VALUE_SECURE:
+                return secureRandomUuid;
+            default:
+                throw new IllegalArgumentException("Unknown request id generator: " + name);
+        }
+    }
+}
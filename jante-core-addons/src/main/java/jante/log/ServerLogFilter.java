@@ -1,6 +1,5 @@
 package jante.log;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import jante.log.model.LogParams;
@@ -10,27 +9,51 @@ import lombok.extern.slf4j.Slf4j;
 import jante.log.model.LogParams;
 import jante.log.model.LogRequest;
 import jante.log.model.LogResponse;
+import jante.jfr.JfrEvent;
+import jante.jfr.JfrEvents;
 import jante.model.Constants;
 import jante.util.FormatUtil;
 
 import javax.inject.Inject;
 import javax.ws.rs.container.*;
 import javax.ws.rs.core.Context;
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import javax.ws.rs.core.MediaType;
 import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @Slf4j
 public class ServerLogFilter implements ContainerRequestFilter, ContainerResponseFilter {
     public static final String PROPERTYNAME = "RestLogFilter.startTime";
+    /**
+     * LogSampler resolved in the request filter, reused in the response filter
+     */
+    public static final String LOG_SAMPLER_PROPERTY = "RestLogFilter.logSampler";
+    /**
+     * Whether the request line was logged
+     */
+    public static final String SAMPLED_PROPERTY = "RestLogFilter.sampled";
+    /**
+     * Request entity captured while the application reads it. Logged in the response filter, after the request line.
+     */
+    static final String ENTITY_CAPTURE_PROPERTY = "RestLogFilter.entityCapture";
+    /**
+     * Flight recorder event for the request, only set while a recording has it enabled
+     */
+    static final String JFR_EVENT_PROPERTY = "RestLogFilter.jfrEvent";
+
+    /**
+     * Stored for requests that are fast tracked, so the response filter skips them without running the predicates again
+     */
+    static final LogSampler FAST_TRACKED = new LogSampler(LogParams.defaults.enableLogging(false));
 
     final ResourceInfo resourceInfo;
 
     final ServerLogger serverLogger;
 
     final static int MAX_ENTITY_READ = 4096;
+    private static final BufferPool ENTITY_BUFFERS = new BufferPool(64, MAX_ENTITY_READ);
 
     @Inject
     public ServerLogFilter(@Context ResourceInfo resourceInfo, ServerLogger serverLogger) {
@@ -38,42 +61,62 @@ public class ServerLogFilter implements ContainerRequestFilter, ContainerRespons
         this.serverLogger = serverLogger;
     }
 
-    static String extractRequestEntity(ContainerRequestContext request) {
-        if (request.hasEntity()) {
-            InputStream inputStreamOriginal = request.getEntityStream();
-            BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStreamOriginal, MAX_ENTITY_READ);
-            bufferedInputStream.mark(MAX_ENTITY_READ);
-            byte[] bytes = new byte[MAX_ENTITY_READ + 3];
-            int read;
-            try {
-                read = bufferedInputStream.read(bytes, 0, MAX_ENTITY_READ);
-                if(read == MAX_ENTITY_READ) {
-                    bytes[MAX_ENTITY_READ] = '.';
-                    bytes[MAX_ENTITY_READ + 1] = '.';
-                    bytes[MAX_ENTITY_READ + 2] = '.';
-                }
-                bufferedInputStream.reset();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            request.setEntityStream(bufferedInputStream);
+    /**
+     * Capture the entity while the application reads it, if the content type is text
+     */
+    private static EntityCaptureInputStream captureEntity(ContainerRequestContext request) {
+        MediaType mediaType = request.getMediaType();
+        if (!request.hasEntity() || !isText(mediaType)) {
+            return null;
+        }
+        EntityCaptureInputStream capture = new EntityCaptureInputStream(request.getEntityStream(), ENTITY_BUFFERS, entityCharset(mediaType));
+        request.setEntityStream(capture);
+        return capture;
+    }
 
-            return new String(bytes, Charsets.UTF_8);
+    /**
+     * The charset of the content type, or UTF-8 when it is missing, malformed or unsupported
+     */
+    static Charset entityCharset(MediaType mediaType) {
+        String charsetName = mediaType == null ? null : mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+        if (charsetName == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(charsetName);
+        } catch (IllegalArgumentException e) {
+            // The name comes from the client, and must not fail the request
+            return StandardCharsets.UTF_8;
         }
-        return null;
+    }
+
+    /**
+     * Entities without a content type are assumed to be text
+     */
+    static boolean isText(MediaType mediaType) {
+        if (mediaType == null) {
+            return true;
+        }
+        String subtype = mediaType.getSubtype();
+        return "text".equals(mediaType.getType())
+                || subtype.equals("json") || subtype.endsWith("+json")
+                || subtype.equals("xml") || subtype.endsWith("+xml")
+                || subtype.equals("x-www-form-urlencoded")
+                || subtype.equals("javascript");
     }
 
 
     @Override
     public void filter(ContainerRequestContext request) {
-        if (serverLogger.fastTrackFilters.stream().anyMatch(it -> it.test(request))) {
-            return;
+        if (JfrEvents.serverRequestEnabled()) {
+            JfrEvent event = JfrEvents.newServerRequest();
+            event.begin();
+            request.setProperty(JFR_EVENT_PROPERTY, event);
         }
 
-        Class<?> handlingClass = resourceInfo.getResourceClass();
-        Method handlingMethod = resourceInfo.getResourceMethod();
-
-        LogParams logParams = serverLogger.LogParamsForCall(handlingClass, handlingMethod);
+        LogSampler sampler = resolveSampler(request);
+        LogParams logParams = sampler.logParams;
+        request.setProperty(LOG_SAMPLER_PROPERTY, sampler);
 
         if (!logParams.enableLogging) {
             return;
@@ -81,6 +124,12 @@ public class ServerLogFilter implements ContainerRequestFilter, ContainerRespons
 
         request.setProperty(PROPERTYNAME, System.nanoTime());
 
+        boolean sampled = sampler.sampleRequest();
+        request.setProperty(SAMPLED_PROPERTY, sampled);
+        if (!sampled) {
+            return;
+        }
+
         LogRequest.LogRequestBuilder logRequest = LogRequest.builder();
 
         logRequest.uri(getUri(request));
@@ -97,26 +146,47 @@ public class ServerLogFilter implements ContainerRequestFilter, ContainerRespons
         }
 
 
-        if (logParams.logRequestPayload) {
-            logRequest.entity(extractRequestEntity(request));
+        EntityCaptureInputStream capture = logParams.logRequestPayload ? captureEntity(request) : null;
+        if (capture != null) {
+            request.setProperty(ENTITY_CAPTURE_PROPERTY, capture);
         }
 
         serverLogger.handleRequest(logRequest.build(), logParams);
     }
 
+    private void logRequestEntity(ContainerRequestContext request, LogParams logParams) {
+        EntityCaptureInputStream capture = (EntityCaptureInputStream) request.getProperty(ENTITY_CAPTURE_PROPERTY);
+        if (capture != null) {
+            serverLogger.handleRequestEntity(getUri(request), capture.entity(), logParams);
+        }
+    }
+
     @Override
     public void filter(final ContainerRequestContext request, final ContainerResponseContext response) {
-        if (serverLogger.fastTrackFilters.stream().anyMatch(it -> it.test(request))) {
-            return;
-        }
+        commitJfrEvent(request, response);
 
-        Class<?> handlingClass = resourceInfo.getResourceClass();
-        Method handlingMethod = resourceInfo.getResourceMethod();
-        LogParams logParams = serverLogger.LogParamsForCall(handlingClass, handlingMethod);
+        LogSampler sampler = (LogSampler) request.getProperty(LOG_SAMPLER_PROPERTY);
+        if (sampler == null) {
+            // The request filter did not run, e.g. when an earlier filter aborted the request
+            sampler = resolveSampler(request);
+        }
+        LogParams logParams = sampler.logParams;
 
         if (!logParams.enableLogging) {
             return;
         }
+        logRequestEntity(request, logParams);
+
+        Long totalMillis = null;
+        Long startNanos = (Long) request.getProperty(PROPERTYNAME);
+        if (startNanos != null) {
+            long totalNanos = System.nanoTime() - startNanos;
+            totalMillis = totalNanos / 1_000_000;
+        }
+        Boolean sampled = (Boolean) request.getProperty(SAMPLED_PROPERTY);
+        if (!sampler.logResponse(sampled == null || sampled, response.getStatus(), totalMillis)) {
+            return;
+        }
 
         LogResponse.LogResponseBuilder logResponse = LogResponse.builder();
 
@@ -133,18 +203,32 @@ public class ServerLogFilter implements ContainerRequestFilter, ContainerRespons
                 logResponse.entity(response.getEntity());
             }
         }
-        Long totalMillis = null;
-
-        Long startNanos = (Long) request.getProperty(PROPERTYNAME);
-        if (startNanos != null) {
-            long totalNanos = System.nanoTime() - startNanos;
-            totalMillis = totalNanos / 1_000_000;
-        }
         logResponse.totalMillis(totalMillis);
 
         serverLogger.handleResponse(logResponse.build(), logParams);
     }
 
+    private void commitJfrEvent(ContainerRequestContext request, ContainerResponseContext response) {
+        JfrEvent event = (JfrEvent) request.getProperty(JFR_EVENT_PROPERTY);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            Method resourceMethod = resourceInfo.getResourceMethod();
+            JfrEvents.commitServerRequest(event, request.getMethod(), request.getUriInfo().getPath(),
+                    resourceMethod != null ? resourceInfo.getResourceClass().getSimpleName() + "." + resourceMethod.getName() : null,
+                    response.getStatus());
+        }
+    }
+
+    private LogSampler resolveSampler(ContainerRequestContext request) {
+        if (serverLogger.isFastTracked(request)) {
+            return FAST_TRACKED;
+        }
+        return serverLogger.samplerForCall(resourceInfo.getResourceClass(), resourceInfo.getResourceMethod());
+    }
+
     private String getUri(ContainerRequestContext request) {
         String queryParamString = request.getUriInfo().getRequestUri().getQuery();
 
@@ -1,45 +1,93 @@
 package jante.log;
 
-import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
-import jante.log.model.LogParams;
-import jante.log.model.LogRequest;
-import jante.log.model.LogResponse;
-import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import jante.annotations.Log;
 import jante.annotations.LogRequestEntity;
 import jante.annotations.LogResponseEntity;
+import jante.annotations.LogSampling;
+import jante.log.model.AccessLogEvent;
 import jante.log.model.LogParams;
 import jante.log.model.LogRequest;
 import jante.log.model.LogResponse;
 import jante.model.HttpProblem;
 import jante.util.AnnotationUtil;
 import jante.util.LogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import java.lang.reflect.Method;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+import static jante.model.Constants.X_REQUEST_ID;
+
+/**
+ * Writes access log lines for requests and responses. With an AccessLogWriter, lines are formatted and written on
+ * the writer thread, otherwise on the request thread.
+ */
 @Slf4j
-@AllArgsConstructor
 public class ServerLogger {
 
     public final ImmutableList<Predicate<ContainerRequestContext>> fastTrackFilters;
     public final LogParams logParams;
+    public final AccessLogFormat format;
+    /**
+     * Null to write on the request thread
+     */
+    public final AccessLogWriter accessLogWriter;
+    /**
+     * Annotations are resolved once per resource method
+     */
+    private final Map<Method, LogSampler> samplersByMethod = new ConcurrentHashMap<>();
+    /**
+     * For requests not matching a resource method
+     */
+    private final LogSampler defaultSampler;
+
+    public ServerLogger(ImmutableList<Predicate<ContainerRequestContext>> fastTrackFilters, LogParams logParams,
+                        AccessLogFormat format, AccessLogWriter accessLogWriter) {
+        this.fastTrackFilters = fastTrackFilters;
+        this.logParams = logParams;
+        this.format = format;
+        this.accessLogWriter = accessLogWriter;
+        this.defaultSampler = new LogSampler(logParams);
+    }
 
+    public ServerLogger(ImmutableList<Predicate<ContainerRequestContext>> fastTrackFilters, LogParams logParams) {
+        this(fastTrackFilters, logParams, AccessLogFormat.TEXT, null);
+    }
 
     public LogParams LogParamsForCall(Class<?> clazz, Method method) {
+        return samplerForCall(clazz, method).logParams;
+    }
+
+    /**
+     * The sampler holds the LogParams for the method, and the sampling state shared by all calls to it
+     */
+    public LogSampler samplerForCall(Class<?> clazz, Method method) {
         if (clazz == null || method == null) {
-            return logParams;
+            return defaultSampler;
         }
+        LogSampler ret = samplersByMethod.get(method);
+        if (ret != null) {
+            return ret;
+        }
+        return samplersByMethod.computeIfAbsent(method, it -> new LogSampler(resolveLogParams(it)));
+    }
 
+    public boolean isFastTracked(ContainerRequestContext request) {
+        for (Predicate<ContainerRequestContext> fastTrackFilter : fastTrackFilters) {
+            if (fastTrackFilter.test(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LogParams resolveLogParams(Method method) {
         LogParams ret = logParams;
 
         Log enableLogging = AnnotationUtil.getAnnotation(Log.class, method);
@@ -54,64 +102,88 @@ public class ServerLogger {
 
         LogResponseEntity logResponseEntity = AnnotationUtil.getAnnotation(LogResponseEntity.class, method);
         if (logResponseEntity != null) {
-            ret = ret.logRequestPayload(logResponseEntity.value());
+            ret = ret.logResponseEntity(logResponseEntity.value());
+        }
+
+        LogSampling logSampling = AnnotationUtil.getAnnotation(LogSampling.class, method);
+        if (logSampling != null) {
+            ret = ret
+                    .sampleRate(logSampling.rate() < 0 ? ret.sampleRate : logSampling.rate())
+                    .slowMillis(logSampling.slowMillis() < 0 ? ret.slowMillis : logSampling.slowMillis())
+                    .maxPerSecond(logSampling.maxPerSecond() < 0 ? ret.maxPerSecond : logSampling.maxPerSecond());
         }
         return ret;
 
     }
 
     public void handleRequest(LogRequest logRequest, LogParams logParams) {
+        String entity = logParams.logRequestPayload && !Strings.isNullOrEmpty(logRequest.entity)
+                ? logRequest.entity
+                : null;
+        handle(new AccessLogEvent(
+                AccessLogEvent.Type.REQUEST,
+                System.currentTimeMillis(),
+                MDC.get(X_REQUEST_ID),
+                logParams,
+                logRequest.uri,
+                null,
+                null,
+                logRequest.clientApplication,
+                logRequest.user,
+                logParams.logHeaders ? logRequest.headers : null,
+                entity
+        ));
+    }
 
-        List<String> entries = Lists.newArrayList();
-        entries.add(logRequest.uri);
-        if (logRequest.clientApplication != null) {
-            entries.add("Client: " + logRequest.clientApplication);
-        }
-        if (logRequest.user != null) {
-            entries.add("User: " + logRequest.user);
-        }
-        if (logParams.logHeaders && logRequest.headers != null) {
-            entries.add("Headers: " + getHeaders(logRequest.headers, logParams)
-            );
-        }
-        if (logParams.logResponseEntity && ! Strings.isNullOrEmpty(logRequest.entity)) {
-            List<String> lines = Splitter.on('\n').splitToList(logRequest.entity)
-                    .stream()
-                    .map(String::trim)
-                    .collect(Collectors.toList());
-            String compactedEntity = Joiner.on(' ').join(lines);
-            entries.add("Entity: " + compactedEntity);
+    /**
+     * The request entity is captured while the application reads it, so it is logged after the request line
+     */
+    public void handleRequestEntity(String uri, String entity, LogParams logParams) {
+        if (!logParams.logRequestPayload || Strings.isNullOrEmpty(entity)) {
+            return;
         }
-        String logString = Joiner.on(", ").join(entries);
-        LogUtil.doLog(logString, logParams.logLevel, log);
+        handle(new AccessLogEvent(
+                AccessLogEvent.Type.REQUEST_ENTITY,
+                System.currentTimeMillis(),
+                MDC.get(X_REQUEST_ID),
+                logParams,
+                uri,
+                null,
+                null,
+                null,
+                null,
+                null,
+                entity
+        ));
     }
 
     public void handleResponse(LogResponse logResponse, LogParams logParams) {
-        List<String> entries = Lists.newArrayList();
-        entries.add(logResponse.uri);
-        entries.add("Status: " + logResponse.status);
-        if (logResponse.totalMillis != null) {
-            entries.add("Millis: " + logResponse.totalMillis);
-        }
-        if (logParams.logHeaders && logResponse.headers != null) {
-            entries.add("Headers: " + getHeaders(logResponse.headers, logParams)
-            );
-        }
-        if (logParams.logResponseEntity && logResponse.entity != null) {
-            if (! (logResponse.entity instanceof HttpProblem)) {
-                entries.add("Entity: " + logResponse.entity.toString());
-            }
-        }
-        String logString = Joiner.on(", ").join(entries);
-        LogUtil.doLog(logString, logParams.logLevel, log);
+        // The entity is converted on the request thread, as it may not be safe to read from another thread
+        String entity = logParams.logResponseEntity && logResponse.entity != null && !(logResponse.entity instanceof HttpProblem)
+                ? logResponse.entity.toString()
+                : null;
+        handle(new AccessLogEvent(
+                AccessLogEvent.Type.RESPONSE,
+                System.currentTimeMillis(),
+                MDC.get(X_REQUEST_ID),
+                logParams,
+                logResponse.uri,
+                logResponse.status,
+                logResponse.totalMillis,
+                null,
+                null,
+                logParams.logHeaders ? logResponse.headers : null,
+                entity
+        ));
     }
 
-    private List<String> getHeaders(Map<String, String> headers, LogParams logParams) {
-        return headers.entrySet().stream()
-                .filter(entry -> ! logParams.skipHeaders.contains(entry.getKey()))
-                .map(entry -> entry.getKey() + ": " + entry.getValue())
-                .collect(Collectors.toList());
+    private void handle(AccessLogEvent event) {
+        if (accessLogWriter != null) {
+            accessLogWriter.offer(event);
+            return;
+        }
+        StringBuilder line = new StringBuilder(128);
+        format.format(event, line);
+        LogUtil.doLog(line.toString(), event.logParams.logLevel, log);
     }
-
-
 }
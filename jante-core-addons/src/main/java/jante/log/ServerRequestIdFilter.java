@@ -10,7 +10,6 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.util.UUID;
 
 import static jante.model.Constants.X_REQUEST_ID;
 
@@ -19,6 +18,15 @@ import static jante.model.Constants.X_REQUEST_ID;
  * i MDC slik at den kan logges ved å legge til %X{X-REQUEST-ID} i logback.xml.
  */
 public class ServerRequestIdFilter implements Filter {
+    private final RequestIdGenerator requestIdGenerator;
+
+    public ServerRequestIdFilter(RequestIdGenerator requestIdGenerator) {
+        this.requestIdGenerator = requestIdGenerator;
+    }
+
+    public ServerRequestIdFilter() {
+        this(RequestIdGenerator.uuidV7);
+    }
 
     @Override
     public void init(FilterConfig filterConfig) {
@@ -32,7 +40,7 @@ public class ServerRequestIdFilter implements Filter {
         String requestId = servletRequest.getHeader(X_REQUEST_ID);
 
         if (requestId == null || requestId.isEmpty()) {
-            requestId = UUID.randomUUID().toString();
+            requestId = requestIdGenerator.nextId();
         }
 
         try {
@@ -0,0 +1,46 @@
+package jante.log.model;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.AllArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One access log line, captured on the request thread and formatted later, possibly on another thread.
+ * Everything needed for formatting is captured, so nothing from the request is read after the filter returns.
+ */
+@AllArgsConstructor
+@ToString
+public class AccessLogEvent {
+    public enum Type {
+        REQUEST("request"),
+        /**
+         * The request entity, once the application has read it. Follows the request line.
+         */
+        REQUEST_ENTITY("requestEntity"),
+        RESPONSE("response");
+
+        public final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+    }
+
+    public final Type type;
+    public final long timestampMillis;
+    public final String requestId;
+    public final LogParams logParams;
+    public final String uri;
+    /**
+     * Only for responses
+     */
+    public final Integer status;
+    /**
+     * Only for responses
+     */
+    public final Long totalMillis;
+    public final String clientApplication;
+    public final String user;
+    public final ImmutableMap<String, String> headers;
+    public final String entity;
+}
@@ -50,7 +50,25 @@ public class LogParams {
     @Wither(AccessLevel.PRIVATE)
     public final boolean logRequestPayload;
 
-    public final static LogParams defaults = new LogParams(true, LogLevel.INFO, false, ImmutableSet.of(), true, true);
+    /**
+     * Logg 1 av sampleRate kall. Feil (5xx) og trege kall logges alltid.
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int sampleRate;
+
+    /**
+     * Kall som tar lengre tid enn dette logges alltid. 0 slår det av.
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final long slowMillis;
+
+    /**
+     * Maks antall kall som logges per sekund per endepunkt, utenom feil og trege kall. 0 er ubegrenset.
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int maxPerSecond;
+
+    public final static LogParams defaults = new LogParams(true, LogLevel.INFO, false, ImmutableSet.of(), true, true, 1, 0, 0);
 
     public LogParams enableLogging(boolean enableLogging) {
         return withEnableLogging(enableLogging);
@@ -65,7 +83,7 @@ public class LogParams {
     }
 
     public LogParams skipHeaders(ImmutableSet<String> skipHeaders) {
-        return this.skipHeaders == skipHeaders ? this : new LogParams(this.enableLogging, this.logLevel, this.logHeaders, skipHeaders, this.logResponseEntity, this.logRequestPayload);
+        return this.skipHeaders == skipHeaders ? this : new LogParams(this.enableLogging, this.logLevel, this.logHeaders, skipHeaders, this.logResponseEntity, this.logRequestPayload, this.sampleRate, this.slowMillis, this.maxPerSecond);
     }
 
     public LogParams clearSkipHeaders() {
@@ -83,4 +101,16 @@ public class LogParams {
     public LogParams logRequestPayload(boolean logRequestPayload) {
         return withLogRequestPayload(logRequestPayload);
     }
+
+    public LogParams sampleRate(int sampleRate) {
+        return withSampleRate(sampleRate);
+    }
+
+    public LogParams slowMillis(long slowMillis) {
+        return withSlowMillis(slowMillis);
+    }
+
+    public LogParams maxPerSecond(int maxPerSecond) {
+        return withMaxPerSecond(maxPerSecond);
+    }
 }
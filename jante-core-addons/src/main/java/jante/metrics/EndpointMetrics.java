@@ -0,0 +1,45 @@
+package jante.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request metrics for one endpoint. Safe for concurrent use without locking.
+ */
+public final class EndpointMetrics {
+    public final String httpMethod;
+    /**
+     * Path template below the api path
+     */
+    public final String path;
+    public final LatencyHistogram latency = new LatencyHistogram();
+    public final LongAdder inFlight = new LongAdder();
+    /**
+     * Responses by status family, index 0 is 1xx and index 4 is 5xx
+     */
+    private final LongAdder[] statusFamilies = new LongAdder[5];
+
+    EndpointMetrics(String httpMethod, String path) {
+        this.httpMethod = httpMethod;
+        this.path = path;
+        for (int i = 0; i < statusFamilies.length; i++) {
+            statusFamilies[i] = new LongAdder();
+        }
+    }
+
+    void requestStarted() {
+        inFlight.increment();
+    }
+
+    void requestFinished(int status, long nanos) {
+        inFlight.decrement();
+        latency.recordNanos(nanos);
+        int family = status / 100 - 1;
+        if (family >= 0 && family < statusFamilies.length) {
+            statusFamilies[family].increment();
+        }
+    }
+
+    public long responses(int statusFamily) {
+        return statusFamilies[statusFamily / 100 - 1].sum();
+    }
+}
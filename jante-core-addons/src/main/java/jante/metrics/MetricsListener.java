@@ -0,0 +1,78 @@
+package jante.metrics;
+
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import java.util.List;
+
+/**
+ * Records latency, status and requests in flight for each endpoint, the http method and path template.
+ * Uses jersey request events rather than filters, so requests ending in an unmapped exception are also recorded,
+ * and the latency includes writing the response entity.
+ * Requests not matching a resource method are not recorded.
+ */
+public class MetricsListener implements ApplicationEventListener {
+    private final MetricsRegistry registry;
+
+    public MetricsListener(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return new RequestListener(System.nanoTime());
+    }
+
+    /**
+     * The matched templates, from the resource class through sub-resources to the method, joined to one path
+     */
+    static String pathTemplate(ExtendedUriInfo uriInfo) {
+        List<UriTemplate> templates = uriInfo.getMatchedTemplates();
+        StringBuilder path = new StringBuilder();
+        for (int i = templates.size() - 1; i >= 0; i--) {
+            String template = templates.get(i).getTemplate();
+            if (template.isEmpty() || template.equals("/")) {
+                continue;
+            }
+            if (template.charAt(0) != '/') {
+                path.append('/');
+            }
+            path.append(template.endsWith("/") ? template.substring(0, template.length() - 1) : template);
+        }
+        return path.length() == 0 ? "/" : path.toString();
+    }
+
+    private class RequestListener implements RequestEventListener {
+        private final long startNanos;
+        private EndpointMetrics endpoint;
+
+        RequestListener(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onEvent(RequestEvent event) {
+            if (event.getType() == RequestEvent.Type.REQUEST_MATCHED) {
+                ResourceMethod resourceMethod = event.getUriInfo().getMatchedResourceMethod();
+                if (resourceMethod != null) {
+                    endpoint = registry.endpoint(resourceMethod.getHttpMethod(), pathTemplate(event.getUriInfo()));
+                    endpoint.requestStarted();
+                }
+            } else if (event.getType() == RequestEvent.Type.FINISHED && endpoint != null) {
+                ContainerResponse response = event.getContainerResponse();
+                int status = response == null ? 500 : response.getStatus();
+                endpoint.requestFinished(status, System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
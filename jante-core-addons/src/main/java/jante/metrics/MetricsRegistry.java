@@ -0,0 +1,84 @@
+package jante.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Metrics per endpoint, the http method and path template of a resource method, created on the first request to it.
+ * Endpoints are keyed by their labels, so each series is written once, also for overloaded methods and
+ * resources reached through several sub-resource locators.
+ * Writes the Prometheus text exposition format, version 0.0.4.
+ */
+public class MetricsRegistry {
+    public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param path the path template, such as /templates/{id}
+     */
+    public EndpointMetrics endpoint(String httpMethod, String path) {
+        String key = httpMethod + " " + path;
+        EndpointMetrics metrics = endpoints.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+        return endpoints.computeIfAbsent(key, ignored -> new EndpointMetrics(httpMethod, path));
+    }
+
+    public List<EndpointMetrics> endpoints() {
+        return endpoints.values().stream()
+                .sorted(Comparator.comparing((EndpointMetrics it) -> it.path).thenComparing(it -> it.httpMethod))
+                .collect(Collectors.toList());
+    }
+
+    public void writePrometheus(Writer writer) throws IOException {
+        List<EndpointMetrics> endpoints = endpoints();
+
+        writer.write("# HELP http_server_request_duration_seconds Time from request received to response written.\n");
+        writer.write("# TYPE http_server_request_duration_seconds summary\n");
+        for (EndpointMetrics endpoint : endpoints) {
+            LatencyHistogram.Snapshot snapshot = endpoint.latency.snapshot();
+            String labels = labels(endpoint);
+            for (double quantile : QUANTILES) {
+                writer.write("http_server_request_duration_seconds{" + labels + ",quantile=\"" + quantile + "\"} "
+                        + seconds(snapshot.quantileMicros(quantile)) + "\n");
+            }
+            writer.write("http_server_request_duration_seconds_sum{" + labels + "} " + seconds(snapshot.sumMicros) + "\n");
+            writer.write("http_server_request_duration_seconds_count{" + labels + "} " + snapshot.count + "\n");
+        }
+
+        writer.write("# HELP http_server_requests_total Responses by status family.\n");
+        writer.write("# TYPE http_server_requests_total counter\n");
+        for (EndpointMetrics endpoint : endpoints) {
+            for (int family = 100; family <= 500; family += 100) {
+                long responses = endpoint.responses(family);
+                if (responses > 0) {
+                    writer.write("http_server_requests_total{" + labels(endpoint) + ",status=\"" + family / 100 + "xx\"} " + responses + "\n");
+                }
+            }
+        }
+
+        writer.write("# HELP http_server_requests_in_flight Requests being handled.\n");
+        writer.write("# TYPE http_server_requests_in_flight gauge\n");
+        for (EndpointMetrics endpoint : endpoints) {
+            writer.write("http_server_requests_in_flight{" + labels(endpoint) + "} " + endpoint.inFlight.sum() + "\n");
+        }
+    }
+
+    private static String labels(EndpointMetrics endpoint) {
+        return "method=\"" + endpoint.httpMethod + "\",path=\"" + endpoint.path + "\"";
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+}
@@ -0,0 +1,31 @@
+package jante.metrics;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Path("metrics")
+public class MetricsResource {
+    private final MetricsRegistry registry;
+
+    @Inject
+    public MetricsResource(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @GET
+    @Produces(MetricsRegistry.PROMETHEUS_CONTENT_TYPE)
+    public StreamingOutput get() {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            registry.writePrometheus(writer);
+            writer.flush();
+        };
+    }
+}
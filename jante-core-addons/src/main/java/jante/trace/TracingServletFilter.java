@@ -0,0 +1,101 @@
+package jante.trace;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens a server span for each request to the api, continuing the trace in the traceparent header if present.
+ * The span is current while the request is handled, so client calls and queue messages become its children.
+ * For async requests, the span ends when the response completes.
+ */
+public class TracingServletFilter implements Filter {
+    private final SpanExporter exporter;
+
+    public TracingServletFilter(SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        TraceContext parent = TraceContext.parse(httpRequest.getHeader(TraceContext.TRACEPARENT));
+        Span span = Tracing.startSpan(httpRequest.getMethod() + " " + httpRequest.getRequestURI(), Span.Kind.SERVER, parent, exporter);
+        if (span == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        span.attribute("http.method", httpRequest.getMethod())
+                .attribute("http.target", httpRequest.getRequestURI());
+
+        boolean async = false;
+        try (Tracing.Scope ignored = Tracing.activate(span)) {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new EndSpanListener(span, httpResponse));
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(true).attribute("exception", e.getClass().getName());
+            throw e;
+        } finally {
+            if (!async) {
+                end(span, httpResponse);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private static void end(Span span, HttpServletResponse response) {
+        span.attribute("http.status_code", response.getStatus());
+        if (response.getStatus() >= 500) {
+            span.error(true);
+        }
+        span.end();
+    }
+
+    private static class EndSpanListener implements AsyncListener {
+        private final Span span;
+        private final HttpServletResponse response;
+
+        EndSpanListener(Span span, HttpServletResponse response) {
+            this.span = span;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            end(span, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            span.error(true).attribute("timeout", true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            span.error(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package jante.addon;
+
+import com.google.common.base.Strings;
+import jante.ServiceConfig;
+import jante.TestService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import static jante.TestServiceRunnerJetty.testServiceRunnerJetty;
+import static jante.addon.CompressionAddon.compressionAddon;
+import static jante.addon.WebAppAddon.webAppAddon;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionAddonTest {
+
+    @Rule
+    public TemporaryFolder webAppFolder = new TemporaryFolder();
+
+    @Test
+    public void compresses_api_responses_above_min_size() {
+        ServiceConfig serviceConfig = TestService.config
+                .addon(compressionAddon);
+        Response call = testServiceRunnerJetty(serviceConfig)
+                .property("server.port", "0")
+                .property(CompressionAddon.CONFIG_KEY_MIN_SIZE, "1")
+                .oneShot(target -> target
+                        .path("api")
+                        .path(TestService.PATH)
+                        .request()
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .get()
+                );
+
+        assertThat(call.getStatus()).isEqualTo(200);
+        assertThat(call.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(call.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    public void small_responses_are_not_compressed() {
+        ServiceConfig serviceConfig = TestService.config
+                .addon(compressionAddon);
+        Response call = testServiceRunnerJetty(serviceConfig)
+                .property("server.port", "0")
+                .oneShot(target -> target
+                        .path("api")
+                        .path(TestService.PATH)
+                        .request()
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .get()
+                );
+
+        assertThat(call.getStatus()).isEqualTo(200);
+        assertThat(call.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    public void serves_precompressed_static_files() throws IOException {
+        byte[] page = Strings.repeat("Yes!", 1000).getBytes(StandardCharsets.UTF_8);
+        File original = webAppFolder.newFile("page.html");
+        Files.write(original.toPath(), page);
+        File compressed = webAppFolder.newFile("page.html.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed.toPath()))) {
+            out.write(page);
+        }
+        // jetty ignores compressed files older or larger than the original
+        compressed.setLastModified(original.lastModified() + 1000);
+
+        ServiceConfig serviceConfig = TestService.config
+                .addon(webAppAddon)
+                .addon(compressionAddon);
+        Response call = testServiceRunnerJetty(serviceConfig)
+                .property("server.port", "0")
+                .property("webapp.resource.url", "file:" + webAppFolder.getRoot().getAbsolutePath())
+                .oneShot(target -> target
+                        .path("webapp")
+                        .path("page.html")
+                        .request()
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .get()
+                );
+
+        assertThat(call.getStatus()).isEqualTo(200);
+        assertThat(call.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(call.getLength()).isEqualTo((int) compressed.length());
+    }
+}
@@ -0,0 +1,69 @@
+package jante.addon;
+
+import jante.TestService;
+import jante.TestService.Resource;
+import jante.TestServiceRunner;
+import jante.client.ETagCacheFilter;
+import jante.model.SerializationSpec;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import static jante.TestServiceRunner.testServiceRunner;
+import static jante.addon.ETagAddon.etagAddon;
+import static jante.model.SerializationSpec.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ETagAddonTest {
+    TestServiceRunner runner = testServiceRunner(TestService.config.addon(etagAddon));
+
+    @Test
+    public void not_modified_when_if_none_match_has_the_etag() {
+        runner.oneShot(target -> {
+            Response first = target.path(TestService.PATH).request().get();
+            String etag = first.getHeaderString(HttpHeaders.ETAG);
+            assertThat(etag).startsWith("\"").endsWith("\"");
+            assertThat(first.readEntity(TestService.Payload.class)).isEqualTo(TestService.defaultPayload);
+
+            Response revalidated = target.path(TestService.PATH).request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+            assertThat(revalidated.getStatus()).isEqualTo(304);
+            assertThat(revalidated.hasEntity()).isFalse();
+            assertThat(revalidated.getHeaderString(HttpHeaders.ETAG)).isEqualTo(etag);
+
+            Response changed = target.path(TestService.PATH).request().header(HttpHeaders.IF_NONE_MATCH, "\"other\"").get();
+            assertThat(changed.getStatus()).isEqualTo(200);
+            return null;
+        });
+    }
+
+    @Test
+    public void stubs_with_etag_cache_get_cached_payload_when_not_modified() {
+        ETagCacheFilter etagCache = ETagCacheFilter.etagCacheFilter();
+
+        runner.stubConfigurator(stub -> stub.etagCache(etagCache))
+                .chain()
+                .call(Resource.class, resource -> assertThat(resource.get()).isEqualTo(TestService.defaultPayload))
+                .call(Resource.class, resource -> assertThat(resource.get()).isEqualTo(TestService.defaultPayload))
+                .run();
+
+        assertThat(etagCache.notModifiedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void etag_cache_hits_when_client_asks_for_binary_formats() {
+        ETagCacheFilter etagCache = ETagCacheFilter.etagCacheFilter();
+        SerializationSpec binarySpec = SerializationSpec.create(
+                TOLERATE_MISSING_FIELDS, TOLERATE_UNRECOGNIZED_FIELDS, ISO_DATES, GUAVA_TYPES, BINARY_FORMATS
+        );
+
+        runner.clientConfigurator(generator -> generator.serializationSpec(binarySpec))
+                .stubConfigurator(stub -> stub.etagCache(etagCache))
+                .chain()
+                .call(Resource.class, resource -> assertThat(resource.get()).isEqualTo(TestService.defaultPayload))
+                .call(Resource.class, resource -> assertThat(resource.get()).isEqualTo(TestService.defaultPayload))
+                .run();
+
+        assertThat(etagCache.notModifiedCount()).isEqualTo(1);
+    }
+}
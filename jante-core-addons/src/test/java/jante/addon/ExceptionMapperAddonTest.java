@@ -5,6 +5,7 @@ import jante.ServiceConfig;
 import jante.TestService;
 import jante.TestServiceRunner;
 import jante.exception.HttpProblemException;
+import jante.exception.StacklessUserMessageException;
 import jante.exception.UserMessageException;
 import jante.model.HttpProblem;
 import jante.model.LogLevel;
@@ -90,5 +91,27 @@ public class ExceptionMapperAddonTest {
         assertThat(actual.incidentReferenceId).isNotEmpty();
         assertThat(actual.toBuilder().incidentReferenceId(null).build()).isEqualToComparingFieldByFieldRecursively(expected);
     }
-}
 
+    @Test
+    public void stacklessUserMessageException() throws IOException {
+        //Given
+        StacklessUserMessageException exception = new StacklessUserMessageException("Boooom!", 422);
+        when(resource.get()).thenThrow(exception);
+
+        //when
+        Response response = runner.oneShot((clientconfig, uri) ->
+                ClientBuilder.newClient(clientconfig)
+                        .target(uri)
+                        .path(TestService.PATH)
+                        .request()
+                        .get());
+
+        //then
+        assertThat(exception.getStackTrace()).isEmpty();
+        HttpProblem actual = JsonUtil.createObjectMapper(config.serviceDefinition.getSerializationSpec())
+                .readValue(response.readEntity(String.class), HttpProblem.class);
+        assertThat(actual.detail).isEqualTo("Boooom!");
+        assertThat(actual.suggestedUserMessageInDetail).isEqualTo(true);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+}
@@ -71,7 +71,7 @@ public class JerseyClientAddonErrorHandlingTest {
                                     )
                                     .incidentReferenceId(incidentReferenceId)
                                     .status(500)
-                                    .header("Content-Length", "250")
+                                    .header("Content-Length", "213")
                                     .header("Content-Type", "application/problem+json")
                                     .build()
                             )
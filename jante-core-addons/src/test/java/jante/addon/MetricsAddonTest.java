@@ -0,0 +1,92 @@
+package jante.addon;
+
+import com.google.common.collect.Lists;
+import io.swagger.annotations.Api;
+import jante.TestService;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+import static jante.Injections.injections;
+import static jante.ServiceConfig.serviceConfig;
+import static jante.TestServiceRunnerJetty.testServiceRunnerJetty;
+import static jante.addon.MetricsAddon.metricsAddon;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsAddonTest {
+
+    @Api
+    @Path("overloaded")
+    public interface OverloadedResource {
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        String get();
+
+        @GET
+        @Path("{id}")
+        @Produces(MediaType.TEXT_PLAIN)
+        String get(@PathParam("id") String id);
+    }
+
+    public static class OverloadedResourceImpl implements OverloadedResource {
+        @Override
+        public String get() {
+            return "all";
+        }
+
+        @Override
+        public String get(String id) {
+            return id;
+        }
+    }
+
+    static final TestService overloadedService = new TestService() {
+        @Override
+        public List<Class> getResources() {
+            return Lists.newArrayList(OverloadedResource.class);
+        }
+    };
+
+    @Test
+    public void metrics_are_recorded_per_resource_method() {
+        String metrics = testServiceRunnerJetty(TestService.config.addon(metricsAddon))
+                .property("server.port", "0")
+                .oneShot(target -> {
+                    target.path("api").path(TestService.PATH).request().get(TestService.Payload.class);
+                    target.path("api").path(TestService.PATH).request().get(TestService.Payload.class);
+                    return target.path("api").path("metrics").request().get(String.class);
+                });
+
+        String labels = "method=\"GET\",path=\"/path\"";
+        assertThat(metrics)
+                .contains("# TYPE http_server_request_duration_seconds summary")
+                .contains("http_server_request_duration_seconds{" + labels + ",quantile=\"0.99\"}")
+                .contains("http_server_request_duration_seconds_count{" + labels + "} 2")
+                .contains("http_server_requests_total{" + labels + ",status=\"2xx\"} 2")
+                .contains("http_server_requests_in_flight{" + labels + "} 0")
+                .contains("http_server_requests_in_flight{method=\"GET\",path=\"/metrics\"} 1");
+    }
+
+    @Test
+    public void overloaded_resource_methods_get_one_series_each() {
+        String metrics = testServiceRunnerJetty(serviceConfig(overloadedService)
+                .inject(props -> injections.bind(OverloadedResourceImpl.class, OverloadedResource.class))
+                .addon(metricsAddon))
+                .property("server.port", "0")
+                .oneShot(target -> {
+                    target.path("api").path("overloaded").request().get(String.class);
+                    target.path("api").path("overloaded").path("1").request().get(String.class);
+                    target.path("api").path("overloaded").path("2").request().get(String.class);
+                    return target.path("api").path("metrics").request().get(String.class);
+                });
+
+        assertThat(metrics)
+                .contains("http_server_request_duration_seconds_count{method=\"GET\",path=\"/overloaded\"} 1")
+                .contains("http_server_request_duration_seconds_count{method=\"GET\",path=\"/overloaded/{id}\"} 2");
+    }
+}
@@ -0,0 +1,88 @@
+package jante.addon;
+
+import jante.JettyServer;
+import jante.ServiceRunner;
+import jante.TestService;
+import jante.client.TargetGenerator;
+import jante.trace.Span;
+import jante.trace.Tracing;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static jante.ServiceRunner.serviceRunner;
+import static jante.addon.TracingAddon.tracingAddon;
+import static jante.config.PropertyMap.propertyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TracingAddonTest {
+
+    @Test
+    public void client_and_server_spans_share_trace() {
+        List<Span> spans = new CopyOnWriteArrayList<>();
+        ServiceRunner.Runtime runtime = serviceRunner(TestService.config.addon(tracingAddon.exporter(spans::add)))
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .start();
+        Span parent;
+        try {
+            parent = Tracing.startSpan("test", Span.Kind.INTERNAL, null, spans::add);
+            try (Tracing.Scope ignored = Tracing.activate(parent)) {
+                TargetGenerator.targetGenerator(null, runtime.jettyRuntime.server.getURI())
+                        .generate()
+                        .path("api")
+                        .path(TestService.PATH)
+                        .request()
+                        .get(String.class);
+            } finally {
+                parent.end();
+            }
+        } finally {
+            runtime.stop();
+        }
+
+        Span client = spans.stream().filter(it -> it.kind == Span.Kind.CLIENT).findFirst().get();
+        Span server = spans.stream().filter(it -> it.kind == Span.Kind.SERVER).findFirst().get();
+        assertThat(client.context.traceId).isEqualTo(parent.context.traceId);
+        assertThat(client.parentSpanId).isEqualTo(parent.context.spanId);
+        assertThat(server.context.traceId).isEqualTo(parent.context.traceId);
+        assertThat(server.parentSpanId).isEqualTo(client.context.spanId);
+        assertThat(server.attributes()).containsEntry("http.status_code", 200);
+    }
+
+    @Test
+    public void services_in_the_same_jvm_export_to_their_own_exporter() {
+        List<Span> tracedSpans = new CopyOnWriteArrayList<>();
+        List<Span> otherSpans = new CopyOnWriteArrayList<>();
+        ServiceRunner.Runtime traced = serviceRunner(TestService.config.addon(tracingAddon.exporter(tracedSpans::add)))
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .start();
+        ServiceRunner.Runtime other = serviceRunner(TestService.config.addon(tracingAddon.exporter(otherSpans::add)))
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .start();
+        ServiceRunner.Runtime untraced = serviceRunner(TestService.config)
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .start();
+        try {
+            get(traced);
+            get(untraced);
+            other.stop();
+            get(traced);
+        } finally {
+            traced.stop();
+            untraced.stop();
+        }
+
+        assertThat(tracedSpans).hasSize(2).allMatch(it -> it.kind == Span.Kind.SERVER);
+        assertThat(otherSpans).isEmpty();
+    }
+
+    private static void get(ServiceRunner.Runtime runtime) {
+        TargetGenerator.targetGenerator(null, runtime.jettyRuntime.server.getURI())
+                .generate()
+                .path("api")
+                .path(TestService.PATH)
+                .request()
+                .get(String.class);
+    }
+}
@@ -0,0 +1,47 @@
+package jante.exception;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.WebApplicationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExceptionLogPolicyTest {
+    private static final ImmutableMap<Class<?>, Boolean> stacktraceConfig = ImmutableMap.of(
+            Throwable.class, true,
+            WebApplicationException.class, false
+    );
+
+    @Test
+    public void stacktrace_decision_follows_class_hierarchy() {
+        ExceptionLogPolicy policy = new ExceptionLogPolicy(stacktraceConfig, 0);
+
+        assertThat(policy.shouldPrintStacktrace(new NotFoundException())).isFalse();
+        assertThat(policy.shouldPrintStacktrace(new NotFoundException())).isFalse();
+        assertThat(policy.shouldPrintStacktrace(new IllegalStateException())).isTrue();
+    }
+
+    @Test
+    public void identical_problems_are_rate_limited_and_suppressed_ones_counted() {
+        ExceptionLogPolicy policy = new ExceptionLogPolicy(stacktraceConfig, 2);
+        long now = 0;
+
+        assertThat(policy.tryLog(NotFoundException.class, 404, now)).isEqualTo(0);
+        assertThat(policy.tryLog(NotFoundException.class, 404, now)).isEqualTo(0);
+        assertThat(policy.tryLog(NotFoundException.class, 404, now)).isEqualTo(ExceptionLogPolicy.SUPPRESSED);
+        assertThat(policy.tryLog(NotFoundException.class, 404, now)).isEqualTo(ExceptionLogPolicy.SUPPRESSED);
+        assertThat(policy.tryLog(IllegalStateException.class, 500, now)).isEqualTo(0);
+
+        assertThat(policy.tryLog(NotFoundException.class, 404, now + 500_000_000)).isEqualTo(2);
+    }
+
+    @Test
+    public void no_limit_by_default() {
+        ExceptionLogPolicy policy = new ExceptionLogPolicy(stacktraceConfig, 0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.tryLog(new NotFoundException(), 404)).isEqualTo(0);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package jante.log;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import jante.log.model.AccessLogEvent;
+import jante.log.model.LogParams;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AccessLogTest {
+
+    final LogParams logParams = LogParams.defaults.skipHeaders(ImmutableSet.of("Authorization"));
+
+    final AccessLogEvent response = new AccessLogEvent(
+            AccessLogEvent.Type.RESPONSE, 1000L, "id-1", logParams, "GET path", 200, 3L, null, null,
+            ImmutableMap.of("Content-Type", "application/json", "Authorization", "secret"),
+            "{\n  \"a\": \"b\"\n}"
+    );
+
+    @Test
+    public void text_format() {
+        assertThat(format(AccessLogFormat.TEXT, response))
+                .isEqualTo("GET path, Status: 200, Millis: 3, Headers: [Content-Type: application/json], Entity: { \"a\": \"b\" }");
+    }
+
+    @Test
+    public void key_value_format() {
+        assertThat(format(AccessLogFormat.KEY_VALUE, response))
+                .isEqualTo("type=response timestamp=1000 requestId=id-1 uri=\"GET path\" status=200 millis=3"
+                        + " header.Content-Type=application/json entity=\"{ \\\"a\\\": \\\"b\\\" }\"");
+    }
+
+    @Test
+    public void json_format() {
+        assertThat(format(AccessLogFormat.JSON, response))
+                .isEqualTo("{\"type\":\"response\",\"timestamp\":1000,\"requestId\":\"id-1\",\"uri\":\"GET path\",\"status\":200,\"millis\":3,"
+                        + "\"headers\":{\"Content-Type\":\"application/json\"},\"entity\":\"{\\n  \\\"a\\\": \\\"b\\\"\\n}\"}");
+    }
+
+    @Test
+    public void request_entity_is_its_own_line() {
+        AccessLogEvent requestEntity = new AccessLogEvent(
+                AccessLogEvent.Type.REQUEST_ENTITY, 1000L, "id-1", logParams, "POST path", null, null, null, null, null,
+                "{\"a\": \"b\"}"
+        );
+
+        assertThat(format(AccessLogFormat.TEXT, requestEntity)).isEqualTo("POST path, Entity: {\"a\": \"b\"}");
+        assertThat(format(AccessLogFormat.JSON, requestEntity))
+                .startsWith("{\"type\":\"requestEntity\",\"timestamp\":1000,\"requestId\":\"id-1\",\"uri\":\"POST path\"");
+    }
+
+    @Test
+    public void ring_buffer_rejects_when_full_and_keeps_order() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(4);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    public void writer_writes_queued_events_on_close() {
+        Logger logger = mock(Logger.class);
+        AccessLogWriter writer = new AccessLogWriter(16, AccessLogFormat.TEXT, logger);
+
+        assertThat(writer.offer(response)).isTrue();
+        writer.close();
+
+        verify(logger).info(format(AccessLogFormat.TEXT, response));
+        assertThat(writer.offer(response)).isFalse();
+        assertThat(writer.dropped()).isEqualTo(1);
+    }
+
+    private static String format(AccessLogFormat format, AccessLogEvent event) {
+        StringBuilder line = new StringBuilder();
+        format.format(event, line);
+        return line.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package jante.log;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityCaptureInputStreamTest {
+
+    final BufferPool pool = new BufferPool(1, 8);
+
+    @Test
+    public void captures_bytes_as_they_are_read() throws IOException {
+        EntityCaptureInputStream capture = capture("æøå");
+
+        assertThat(ByteStreams.toByteArray(capture)).isEqualTo("æøå".getBytes(StandardCharsets.UTF_8));
+        assertThat(capture.entity()).isEqualTo("æøå");
+    }
+
+    @Test
+    public void nothing_is_captured_before_the_application_reads() {
+        assertThat(capture("{}").entity()).isNull();
+    }
+
+    @Test
+    public void long_entities_are_truncated_but_read_fully() throws IOException {
+        EntityCaptureInputStream capture = capture(Strings.repeat("a", 20));
+
+        assertThat(ByteStreams.toByteArray(capture)).hasSize(20);
+        assertThat(capture.entity()).isEqualTo("aaaaaaaa...");
+    }
+
+    @Test
+    public void buffers_are_reused() throws IOException {
+        EntityCaptureInputStream first = capture("first");
+        ByteStreams.toByteArray(first);
+        first.entity();
+        byte[] released = pool.acquire();
+        pool.release(released);
+
+        EntityCaptureInputStream second = capture("second");
+        ByteStreams.toByteArray(second);
+
+        assertThat(pool.acquire()).isNotSameAs(released);
+        assertThat(second.entity()).isEqualTo("second");
+        assertThat(pool.acquire()).isSameAs(released);
+    }
+
+    @Test
+    public void only_text_content_types_are_captured() {
+        assertThat(ServerLogFilter.isText(MediaType.APPLICATION_JSON_TYPE)).isTrue();
+        assertThat(ServerLogFilter.isText(MediaType.valueOf("application/problem+json"))).isTrue();
+        assertThat(ServerLogFilter.isText(MediaType.TEXT_PLAIN_TYPE)).isTrue();
+        assertThat(ServerLogFilter.isText(null)).isTrue();
+        assertThat(ServerLogFilter.isText(MediaType.APPLICATION_OCTET_STREAM_TYPE)).isFalse();
+        assertThat(ServerLogFilter.isText(MediaType.valueOf("image/png"))).isFalse();
+    }
+
+    private EntityCaptureInputStream capture(String entity) {
+        InputStream in = new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8));
+        return new EntityCaptureInputStream(in, pool, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,63 @@
+package jante.log;
+
+import jante.TestService;
+import jante.jfr.ClientCallEvent;
+import jante.jfr.ServerRequestEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static jante.TestServiceRunnerJetty.testServiceRunnerJetty;
+import static jante.addon.ServerLogAddon.serverLogAddon;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrEventsTest {
+
+    @Test
+    public void events_are_only_enabled_while_recording() throws Exception {
+        assertThat(ServerRequestEvent.enabled()).isFalse();
+
+        List<RecordedEvent> events = record(() -> testServiceRunnerJetty(TestService.config.addon(serverLogAddon))
+                .property("server.port", "0")
+                .oneShot(target -> target.path("api").path(TestService.PATH).request().get(String.class))
+        );
+
+        assertThat(ServerRequestEvent.enabled()).isFalse();
+        RecordedEvent serverRequest = events.stream()
+                .filter(event -> event.getEventType().getName().equals("jante.ServerRequest"))
+                .findFirst().get();
+        assertThat(serverRequest.getString("method")).isEqualTo("GET");
+        assertThat(serverRequest.getString("resourceMethod")).isEqualTo("Resource.get");
+        assertThat(serverRequest.getInt("status")).isEqualTo(200);
+
+        RecordedEvent clientCall = events.stream()
+                .filter(event -> event.getEventType().getName().equals("jante.ClientCall"))
+                .findFirst().get();
+        assertThat(clientCall.getString("url")).endsWith("/api/" + TestService.PATH);
+        assertThat(clientCall.getInt("status")).isEqualTo(200);
+    }
+
+    private static List<RecordedEvent> record(Runnable runnable) throws Exception {
+        Path file = Files.createTempFile("jante", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ServerRequestEvent.class);
+            recording.enable(ClientCallEvent.class);
+            recording.start();
+            assertThat(ServerRequestEvent.enabled()).isTrue();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("jante."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package jante.log;
+
+import jante.log.model.LogParams;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogSamplerTest {
+
+    @Test
+    public void logs_one_in_sample_rate_requests() {
+        LogSampler sampler = new LogSampler(LogParams.defaults.sampleRate(10));
+
+        long sampled = IntStream.range(0, 100).filter(i -> sampler.sampleRequest()).count();
+
+        assertThat(sampled).isEqualTo(10);
+    }
+
+    @Test
+    public void errors_and_slow_responses_are_logged_when_not_sampled() {
+        LogSampler sampler = new LogSampler(LogParams.defaults.sampleRate(10).slowMillis(500));
+
+        assertThat(sampler.logResponse(false, 200, 10L)).isFalse();
+        assertThat(sampler.logResponse(false, 503, 10L)).isTrue();
+        assertThat(sampler.logResponse(false, 200, 500L)).isTrue();
+        assertThat(sampler.logResponse(true, 200, 10L)).isTrue();
+    }
+
+    @Test
+    public void token_bucket_caps_logged_requests_per_second() {
+        LogSampler sampler = new LogSampler(LogParams.defaults.maxPerSecond(5));
+        long now = 1_000_000_000L;
+
+        long burst = IntStream.range(0, 20).filter(i -> sampler.tryAcquireToken(now)).count();
+
+        assertThat(burst).isEqualTo(5);
+        assertThat(sampler.tryAcquireToken(now + 100_000_000L)).isFalse();
+        assertThat(sampler.tryAcquireToken(now + 200_000_000L)).isTrue();
+        assertThat(sampler.tryAcquireToken(now + 200_000_000L)).isFalse();
+    }
+}
@@ -0,0 +1,40 @@
+package jante.log;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestIdGeneratorTest {
+
+    @Test
+    public void uuid_v7_is_time_ordered() throws InterruptedException {
+        long before = System.currentTimeMillis();
+        String first = RequestIdGenerator.uuidV7.nextId();
+        Thread.sleep(2);
+        String second = RequestIdGenerator.uuidV7.nextId();
+
+        UUID uuid = UUID.fromString(first);
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis());
+        assertThat(second.compareTo(first)).isPositive();
+    }
+
+    @Test
+    public void random_uuid_is_version_4() {
+        UUID uuid = UUID.fromString(RequestIdGenerator.randomUuid.nextId());
+
+        assertThat(uuid.version()).isEqualTo(4);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    public void generators_by_name() {
+        assertThat(RequestIdGenerator.named("UUIDv7")).isSameAs(RequestIdGenerator.uuidV7);
+        assertThat(RequestIdGenerator.named("secure")).isSameAs(RequestIdGenerator.secureRandomUuid);
+        assertThatThrownBy(() -> RequestIdGenerator.named("sequence")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package jante.log;
+
+import com.google.common.collect.ImmutableList;
+import jante.annotations.Log;
+import jante.annotations.LogResponseEntity;
+import jante.annotations.LogSampling;
+import jante.log.model.LogParams;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerLoggerTest {
+
+    public interface Resource {
+        @LogResponseEntity(false)
+        String withoutResponseEntity();
+
+        @Log(false)
+        String withoutLogging();
+
+        String plain();
+
+        @LogSampling(rate = 100, slowMillis = 250)
+        String sampled();
+    }
+
+    final ServerLogger serverLogger = new ServerLogger(ImmutableList.of(), LogParams.defaults);
+
+    @Test
+    public void annotations_override_defaults() throws Exception {
+        LogParams withoutResponseEntity = serverLogger.LogParamsForCall(Resource.class, Resource.class.getMethod("withoutResponseEntity"));
+        LogParams withoutLogging = serverLogger.LogParamsForCall(Resource.class, Resource.class.getMethod("withoutLogging"));
+
+        assertThat(withoutResponseEntity.logResponseEntity).isFalse();
+        assertThat(withoutResponseEntity.logRequestPayload).isTrue();
+        assertThat(withoutLogging.enableLogging).isFalse();
+        assertThat(serverLogger.LogParamsForCall(Resource.class, Resource.class.getMethod("plain"))).isEqualTo(LogParams.defaults);
+    }
+
+    @Test
+    public void sampling_annotation_keeps_unset_values() throws Exception {
+        ServerLogger limitedLogger = new ServerLogger(ImmutableList.of(), LogParams.defaults.maxPerSecond(20));
+
+        LogParams sampled = limitedLogger.LogParamsForCall(Resource.class, Resource.class.getMethod("sampled"));
+
+        assertThat(sampled.sampleRate).isEqualTo(100);
+        assertThat(sampled.slowMillis).isEqualTo(250);
+        assertThat(sampled.maxPerSecond).isEqualTo(20);
+    }
+
+    @Test
+    public void log_params_are_resolved_once_per_method() throws Exception {
+        Method method = Resource.class.getMethod("withoutResponseEntity");
+
+        assertThat(serverLogger.LogParamsForCall(Resource.class, method))
+                .isSameAs(serverLogger.LogParamsForCall(Resource.class, method));
+    }
+
+    @Test
+    public void malformed_or_unknown_charsets_fall_back_to_utf8() {
+        assertThat(ServerLogFilter.entityCharset(MediaType.valueOf("application/json; charset=\"a b\"")))
+                .isEqualTo(StandardCharsets.UTF_8);
+        assertThat(ServerLogFilter.entityCharset(MediaType.valueOf("application/json; charset=no-such-charset")))
+                .isEqualTo(StandardCharsets.UTF_8);
+        assertThat(ServerLogFilter.entityCharset(MediaType.valueOf("text/plain; charset=ISO-8859-1")))
+                .isEqualTo(StandardCharsets.ISO_8859_1);
+        assertThat(ServerLogFilter.entityCharset(null)).isEqualTo(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package jante.log;
+
+import com.google.common.collect.Lists;
+import io.swagger.annotations.Api;
+import jante.JettyServer;
+import jante.ServiceRunner;
+import jante.TestService;
+import jante.client.TargetGenerator;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static jante.Injections.injections;
+import static jante.ServiceConfig.serviceConfig;
+import static jante.ServiceRunner.serviceRunner;
+import static jante.addon.RequestIdAddon.requestIdAddon;
+import static jante.config.PropertyMap.propertyMap;
+import static jante.model.Constants.X_REQUEST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerRequestIdFilterTest {
+
+    @Api
+    @Path("mdc")
+    public interface MdcResource {
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        String get();
+    }
+
+    public static class MdcResourceImpl implements MdcResource {
+        @Override
+        public String get() {
+            return MDC.get(X_REQUEST_ID) + " " + Thread.currentThread().getName();
+        }
+    }
+
+    static final TestService mdcService = new TestService() {
+        @Override
+        public List<Class> getResources() {
+            return Lists.newArrayList(MdcResource.class);
+        }
+    };
+
+    @Test
+    public void request_id_is_in_mdc_on_the_request_executor() {
+        ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request-executor"));
+        ServiceRunner.Runtime runtime = serviceRunner(serviceConfig(mdcService)
+                .addon(requestIdAddon)
+                .inject(props -> injections.bind(MdcResourceImpl.class, MdcResource.class)))
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .requestExecutor(pool)
+                .start();
+        try {
+            String body = TargetGenerator.targetGenerator(null, runtime.jettyRuntime.server.getURI())
+                    .generate()
+                    .path("api")
+                    .path("mdc")
+                    .request()
+                    .header(X_REQUEST_ID, "abc-123")
+                    .get(String.class);
+
+            assertThat(body).isEqualTo("abc-123 request-executor");
+        } finally {
+            runtime.stop();
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package jante.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void buckets_are_contiguous_and_within_precision() {
+        for (long micros = 0; micros < 1_000_000; micros++) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertThat(highest).isGreaterThanOrEqualTo(micros);
+            assertThat(highest - micros).isLessThanOrEqualTo(micros / 16);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValueIn(bucket - 1)).isLessThan(micros);
+            }
+        }
+    }
+
+    @Test
+    public void quantiles_from_recorded_values() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.recordNanos(millis * 1_000_000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count).isEqualTo(100);
+        assertThat(snapshot.sumMicros).isEqualTo(5_050_000);
+        assertThat(snapshot.quantileMicros(0.5)).isBetween(50_000L, 53_125L);
+        assertThat(snapshot.quantileMicros(0.99)).isBetween(99_000L, 105_188L);
+    }
+
+    @Test
+    public void values_beyond_range_go_to_last_bucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(Long.MAX_VALUE);
+
+        assertThat(histogram.snapshot().quantileMicros(1.0)).isEqualTo(LatencyHistogram.highestValueIn(LatencyHistogram.BUCKETS - 1));
+    }
+}
@@ -4,7 +4,6 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.experimental.Wither;
-import lombok.extern.slf4j.Slf4j;
 import jante.client.ClientGenerator;
 import jante.client.StubGenerator;
 import jante.client.TargetGenerator;
@@ -29,7 +28,6 @@ import static jante.client.StubGenerator.stubGenerator;
 import static jante.client.TargetGenerator.targetGenerator;
 
 
-@Slf4j
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class TestServiceRunner implements TestServiceRunnerBase {
     @Getter
@@ -67,14 +65,12 @@ public class TestServiceRunner implements TestServiceRunnerBase {
         public final Function<TargetGenerator, TargetGenerator> targetConfigurator;
 
         public void stop() {
-            configRuntime.addons.addons.forEach(addon -> {
-                try {
-                    addon.cleanUp();
-                } catch (RuntimeException ex) {
-                    log.error("Exception during cleanup", ex);
-                }
-            });
-            testContainer.stop();
+            configRuntime.prepareShutdown();
+            try {
+                testContainer.stop();
+            } finally {
+                configRuntime.cleanUp();
+            }
         }
 
         public <T> T call(BiFunction<ClientConfig, URI, T> testfun) {
@@ -0,0 +1,72 @@
+package jante;
+
+import jante.TestService.Payload;
+import jante.TestService.Resource;
+import jante.model.SerializationSpec;
+import jante.util.BinaryFormatProvider;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import static jante.Injections.injections;
+import static jante.ServiceConfig.serviceConfig;
+import static jante.TestServiceRunner.testServiceRunner;
+import static jante.model.SerializationSpec.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryFormatTest {
+    static final SerializationSpec binarySpec = SerializationSpec.create(
+            PRETTY_PRINT_ON_REQUEST, TOLERATE_MISSING_FIELDS, TOLERATE_UNRECOGNIZED_FIELDS, ISO_DATES, GUAVA_TYPES, BINARY_FORMATS
+    );
+
+    static final TestService binaryService = new TestService() {
+        @Override
+        public SerializationSpec getSerializationSpec() {
+            return binarySpec;
+        }
+    };
+
+    TestServiceRunner binaryRunner = testServiceRunner(serviceConfig(binaryService)
+            .inject(props -> injections.bind(TestService.Impl.class, Resource.class))
+    );
+
+    @Test
+    public void clients_get_smile_from_services_with_binary_formats() {
+        binaryRunner.oneShot(target -> {
+            Response response = target.path(TestService.PATH).request(MediaType.APPLICATION_JSON).get();
+
+            assertThat(response.getMediaType()).isEqualTo(BinaryFormatProvider.APPLICATION_SMILE_TYPE);
+            assertThat(response.getHeaderString("Vary")).isEqualTo("Accept");
+            assertThat(response.readEntity(Payload.class)).isEqualTo(TestService.defaultPayload);
+            return null;
+        });
+        assertThat(binaryRunner.oneShot(Resource.class, Resource::get)).isEqualTo(TestService.defaultPayload);
+    }
+
+    @Test
+    public void cbor_when_asked_for() {
+        binaryRunner.oneShot(target -> {
+            Response response = target.path(TestService.PATH).request(BinaryFormatProvider.APPLICATION_CBOR).get();
+
+            assertThat(response.getMediaType()).isEqualTo(BinaryFormatProvider.APPLICATION_CBOR_TYPE);
+            assertThat(response.readEntity(Payload.class)).isEqualTo(TestService.defaultPayload);
+            return null;
+        });
+    }
+
+    @Test
+    public void clients_fall_back_to_json_with_services_without_binary_formats() {
+        TestServiceRunner runner = testServiceRunner(TestService.config)
+                .clientConfigurator(generator -> generator.serializationSpec(binarySpec));
+
+        runner.oneShot(target -> {
+            Response response = target.path(TestService.PATH).request(MediaType.APPLICATION_JSON).get();
+
+            assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+            assertThat(response.readEntity(String.class)).startsWith("{\"string\":\"string\"");
+            return null;
+        });
+        assertThat(runner.oneShot(Resource.class, Resource::get)).isEqualTo(TestService.defaultPayload);
+    }
+}
@@ -0,0 +1,129 @@
+package jante;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.CharStreams;
+import jante.model.Addon;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static jante.ServiceRunner.serviceRunner;
+import static jante.config.PropertyMap.propertyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GracefulShutdownTest {
+
+    public static class RecordingAddon implements Addon {
+        final List<String> events;
+
+        RecordingAddon(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void prepareShutdown() {
+            events.add("prepareShutdown " + getClass().getSimpleName());
+        }
+
+        @Override
+        public void cleanUp() {
+            events.add("cleanUp " + getClass().getSimpleName());
+        }
+    }
+
+    public static class FirstAddon extends RecordingAddon {
+        FirstAddon(List<String> events) {
+            super(events);
+        }
+    }
+
+    public static class SecondAddon extends RecordingAddon {
+        SecondAddon(List<String> events) {
+            super(events);
+        }
+
+        @Override
+        public Set<Class<?>> initializeAfter() {
+            return ImmutableSet.of(FirstAddon.class);
+        }
+    }
+
+    @Test
+    public void addons_are_shut_down_in_reverse_order_around_jetty_stop() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        ServiceRunner.Runtime runtime = serviceRunner(TestService.config
+                .addon(new SecondAddon(events))
+                .addon(new FirstAddon(events))
+        )
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .start();
+
+        runtime.stop();
+
+        assertThat(events).containsExactly(
+                "prepareShutdown SecondAddon",
+                "prepareShutdown FirstAddon",
+                "cleanUp SecondAddon",
+                "cleanUp FirstAddon"
+        );
+    }
+
+    @Test
+    public void requests_in_progress_complete_when_stop_timeout_is_set() throws Exception {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        HttpServlet slowServlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                requestStarted.countDown();
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // Completes the response before returning, as jersey does
+                resp.getWriter().write("done");
+                resp.getWriter().close();
+            }
+        };
+        Addon slowServletAddon = new Addon() {
+            @Override
+            public JettyServer addToJettyServer(JettyServer jettyServer) {
+                return jettyServer.contextMutator(context -> context.addServlet(new ServletHolder(slowServlet), "/slow"));
+            }
+        };
+        ServiceRunner.Runtime runtime = serviceRunner(TestService.config.addon(slowServletAddon))
+                .properties(propertyMap
+                        .put(JettyServer.CONFIG_KEY_SERVER_PORT, "0")
+                        .put(ServerTuning.CONFIG_KEY_STOP_TIMEOUT, "5000")
+                )
+                .start();
+        URI uri = runtime.jettyRuntime.server.getURI().resolve("slow");
+
+        CompletableFuture<String> response = CompletableFuture.supplyAsync(() -> {
+            try (Reader reader = new InputStreamReader(uri.toURL().openStream(), StandardCharsets.UTF_8)) {
+                return CharStreams.toString(reader);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThat(requestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        runtime.stop();
+
+        assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+}
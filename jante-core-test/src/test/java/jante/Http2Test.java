@@ -0,0 +1,59 @@
+package jante;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static jante.TestServiceRunnerJetty.testServiceRunnerJetty;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Http2Test {
+
+    @Test
+    public void h2c_with_prior_knowledge() throws Exception {
+        TestServiceRunnerJetty.Runtime runtime = testServiceRunnerJetty(TestService.config)
+                .property(JettyServer.CONFIG_KEY_SERVER_PORT, "0")
+                .property(Http2Settings.CONFIG_KEY_ENABLED, "true")
+                .property(Http2Settings.CONFIG_KEY_MAX_CONCURRENT_STREAMS, "32")
+                .start();
+        HttpClient client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), null);
+        try {
+            client.start();
+            URI uri = runtime.uri.resolve("/api/" + TestService.PATH);
+
+            ContentResponse response = client.GET(uri);
+
+            assertThat(response.getVersion()).isEqualTo(HttpVersion.HTTP_2);
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getContentAsString()).contains(TestService.defaultPayload.getString());
+
+            ServerConnector connector = (ServerConnector) runtime.runnerRuntime.jettyRuntime.server.getConnectors()[0];
+            assertThat(connector.getConnectionFactory(HTTP2CServerConnectionFactory.class).getMaxConcurrentStreams())
+                    .isEqualTo(32);
+        } finally {
+            client.stop();
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void http2_is_disabled_by_default() {
+        TestServiceRunnerJetty.Runtime runtime = testServiceRunnerJetty(TestService.config)
+                .property(JettyServer.CONFIG_KEY_SERVER_PORT, "0")
+                .start();
+        try {
+            ServerConnector connector = (ServerConnector) runtime.runnerRuntime.jettyRuntime.server.getConnectors()[0];
+            assertThat(connector.getConnectionFactory(HTTP2CServerConnectionFactory.class)).isNull();
+            assertThat(runtime.runnerRuntime.jettyRuntime.server.getConnectors()).hasSize(1);
+        } finally {
+            runtime.stop();
+        }
+    }
+}
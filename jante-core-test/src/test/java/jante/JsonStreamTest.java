@@ -0,0 +1,77 @@
+package jante;
+
+import com.google.common.collect.Lists;
+import io.swagger.annotations.Api;
+import jante.TestService.Payload;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static jante.Injections.injections;
+import static jante.ServiceConfig.serviceConfig;
+import static jante.TestServiceRunner.testServiceRunner;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonStreamTest {
+    static final int COUNT = 250;
+    static final AtomicBoolean closed = new AtomicBoolean();
+
+    @Api
+    @Path("stream")
+    public interface StreamResource {
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        Stream<Payload> get();
+    }
+
+    public static class StreamResourceImpl implements StreamResource {
+        @Override
+        public Stream<Payload> get() {
+            return IntStream.range(0, COUNT)
+                    .mapToObj(i -> new Payload("payload" + i, LocalDate.of(2018, 1, 1)))
+                    .onClose(() -> closed.set(true));
+        }
+    }
+
+    static final TestService streamService = new TestService() {
+        @Override
+        public List<Class> getResources() {
+            return Lists.newArrayList(StreamResource.class);
+        }
+    };
+
+    TestServiceRunner runner = testServiceRunner(serviceConfig(streamService)
+            .inject(props -> injections.bind(StreamResourceImpl.class, StreamResource.class))
+    );
+
+    @Test
+    public void streams_are_written_as_json_arrays_and_closed() {
+        closed.set(false);
+        String json = runner.oneShot(target -> target.path("stream").request(MediaType.APPLICATION_JSON).get(String.class));
+
+        assertThat(json).startsWith("[{\"string\":\"payload0\",\"date\":\"2018-01-01\"},{");
+        assertThat(json).endsWith("\"payload249\",\"date\":\"2018-01-01\"}]");
+        assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    public void stubs_read_streams_element_by_element() {
+        List<Payload> payloads = runner.oneShot(StreamResource.class, resource -> {
+            try (Stream<Payload> stream = resource.get()) {
+                return stream.collect(Collectors.toList());
+            }
+        });
+
+        assertThat(payloads).hasSize(COUNT);
+        assertThat(payloads.get(COUNT - 1)).isEqualTo(new Payload("payload249", LocalDate.of(2018, 1, 1)));
+    }
+}
@@ -0,0 +1,132 @@
+package jante;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.CharStreams;
+import io.swagger.annotations.Api;
+import jante.TestService.Payload;
+import jante.client.TargetGenerator;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jante.Injections.injections;
+import static jante.ServiceConfig.serviceConfig;
+import static jante.ServiceRunner.serviceRunner;
+import static jante.TestServiceRunnerJetty.testServiceRunnerJetty;
+import static jante.config.PropertyMap.propertyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestExecutorTest {
+    static final Payload resumedPayload = new Payload("resumed", LocalDate.of(2018, 1, 1));
+
+    @Api
+    @Path("suspended")
+    public interface SuspendedResource {
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        void get(@Suspended AsyncResponse response);
+    }
+
+    public static class SuspendedResourceImpl implements SuspendedResource {
+        @Override
+        public void get(AsyncResponse response) {
+            // Resumed after the executor thread has returned from the chain
+            CompletableFuture.runAsync(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response.resume(resumedPayload);
+            });
+        }
+    }
+
+    static final TestService suspendedService = new TestService() {
+        @Override
+        public List<Class> getResources() {
+            return Lists.newArrayList(SuspendedResource.class);
+        }
+    };
+
+    @Test
+    public void requests_are_handled_by_custom_executor() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        ServiceRunner.Runtime runtime = serviceRunner(TestService.config)
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .requestExecutor(command -> {
+                    executed.incrementAndGet();
+                    pool.execute(command);
+                })
+                .start();
+        try {
+            URI uri = runtime.jettyRuntime.server.getURI().resolve("api/" + TestService.PATH);
+
+            String body;
+            try (Reader reader = new InputStreamReader(uri.toURL().openStream(), StandardCharsets.UTF_8)) {
+                body = CharStreams.toString(reader);
+            }
+
+            assertThat(body).contains(TestService.defaultPayload.getString());
+            assertThat(executed.get()).isEqualTo(1);
+        } finally {
+            runtime.stop();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void virtual_executor_property_serves_requests() {
+        TestService.Payload payload = testServiceRunnerJetty(TestService.config)
+                .property(JettyServer.CONFIG_KEY_SERVER_PORT, "0")
+                .property(JettyServer.CONFIG_KEY_REQUEST_EXECUTOR, JettyServer.REQUEST_EXECUTOR_VIRTUAL)
+                .oneShot(target -> target
+                        .path("api")
+                        .path(TestService.PATH)
+                        .request()
+                        .get(TestService.Payload.class)
+                );
+
+        assertThat(payload).isEqualTo(TestService.defaultPayload);
+    }
+
+    @Test
+    public void suspended_resources_complete_the_response_when_resumed() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        ServiceRunner.Runtime runtime = serviceRunner(serviceConfig(suspendedService)
+                .inject(props -> injections.bind(SuspendedResourceImpl.class, SuspendedResource.class)))
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .requestExecutor(pool)
+                .start();
+        try {
+            String body = TargetGenerator.targetGenerator(null, runtime.jettyRuntime.server.getURI())
+                    .generate()
+                    .path("api")
+                    .path("suspended")
+                    .request()
+                    .get(String.class);
+
+            assertThat(body).contains(resumedPayload.getString());
+        } finally {
+            runtime.stop();
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package jante;
+
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.Test;
+
+import static jante.TestServiceRunnerJetty.testServiceRunnerJetty;
+import static jante.config.PropertyMap.propertyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ServerTuningTest {
+
+    @Test
+    public void properties_override_jetty_defaults() {
+        TestServiceRunnerJetty.Runtime runtime = testServiceRunnerJetty(TestService.config)
+                .property("server.port", "0")
+                .property(ServerTuning.CONFIG_KEY_MIN_THREADS, "4")
+                .property(ServerTuning.CONFIG_KEY_MAX_THREADS, "16")
+                .property(ServerTuning.CONFIG_KEY_MAX_QUEUED_REQUESTS, "100")
+                .property(ServerTuning.CONFIG_KEY_ACCEPTORS, "1")
+                .property(ServerTuning.CONFIG_KEY_SELECTORS, "2")
+                .property(ServerTuning.CONFIG_KEY_IDLE_TIMEOUT, "5000")
+                .property(ServerTuning.CONFIG_KEY_OUTPUT_BUFFER_SIZE, "8192")
+                .start();
+        try {
+            Server server = runtime.runnerRuntime.jettyRuntime.server;
+            QueuedThreadPool threadPool = (QueuedThreadPool) server.getThreadPool();
+            ServerConnector connector = (ServerConnector) server.getConnectors()[0];
+
+            assertThat(threadPool.getMinThreads()).isEqualTo(4);
+            assertThat(threadPool.getMaxThreads()).isEqualTo(16);
+            assertThat(connector.getAcceptors()).isEqualTo(1);
+            assertThat(connector.getSelectorManager().getSelectorCount()).isEqualTo(2);
+            assertThat(connector.getIdleTimeout()).isEqualTo(5000);
+            assertThat(connector.getConnectionFactory(HttpConnectionFactory.class).getHttpConfiguration().getOutputBufferSize())
+                    .isEqualTo(8192);
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void properties_have_priority_over_code() {
+        ServerTuning tuning = ServerTuning.serverTuning
+                .maxThreads(50)
+                .withProperties(propertyMap.put(ServerTuning.CONFIG_KEY_MAX_THREADS, "64"));
+
+        assertThat(tuning.maxThreads).isEqualTo(64);
+        assertThat(tuning.minThreads).isEqualTo(ServerTuning.serverTuning.minThreads);
+    }
+
+    @Test
+    public void malformed_timeouts_name_the_property() {
+        Throwable thrown = catchThrowable(() -> ServerTuning.serverTuning
+                .withProperties(propertyMap.put(ServerTuning.CONFIG_KEY_STOP_TIMEOUT, "10s")));
+
+        assertThat(thrown).isInstanceOf(NumberFormatException.class).hasMessageContaining(ServerTuning.CONFIG_KEY_STOP_TIMEOUT);
+    }
+}
@@ -0,0 +1,42 @@
+package jante;
+
+import jante.model.Addon;
+import org.junit.Test;
+
+import static jante.ServiceRunner.serviceRunner;
+import static jante.config.PropertyMap.propertyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupProfilerTest {
+
+    public static class SlowAddon implements Addon {
+        @Override
+        public Addon initialize(ServiceConfig.Runtime config) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return this;
+        }
+    }
+
+    @Test
+    public void report_contains_phases_slowest_first() {
+        ServiceRunner.Runtime runtime = serviceRunner(TestService.config.addon(new SlowAddon()))
+                .properties(propertyMap.put(JettyServer.CONFIG_KEY_SERVER_PORT, "0"))
+                .start();
+        try {
+            StartupProfiler.Report report = runtime.startupReport;
+
+            assertThat(report.phase("initialize SlowAddon").micros).isGreaterThanOrEqualTo(50_000);
+            assertThat(report.phase("jetty start")).isNotNull();
+            assertThat(report.phase("jersey initialization")).isNotNull();
+            assertThat(report.phase("properties")).isNotNull();
+            assertThat(report.phases).isSortedAccordingTo((a, b) -> Long.compare(b.micros, a.micros));
+            assertThat(report.totalMicros).isGreaterThanOrEqualTo(report.phase("jetty start").micros);
+        } finally {
+            runtime.stop();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package jante;
 
 import jante.TestService.Payload;
 import jante.TestService.Resource;
+import jante.model.Constants;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -35,10 +36,32 @@ public class TestServiceRunnerTest {
 
                 )
         );
-        assertThat(payload).isEqualTo("{\n"
+        assertThat(payload).isEqualTo("{\"string\":\"string\",\"date\":\"" + LocalDate.now().toString() + "\"}");
+    }
+
+    @Test
+    public void pretty_prints_on_request() {
+        when(impl.get()).thenReturn(TestService.defaultPayload);
+        String expected = "{\n"
                 + "  \"string\" : \"string\",\n"
                 + "  \"date\" : \"" + LocalDate.now().toString() + "\"\n"
-                + "}");
+                + "}";
+
+        String withQueryParameter = runner.oneShot(target -> target
+                .path(TestService.PATH)
+                .queryParam("pretty", "")
+                .request()
+                .get(String.class)
+        );
+        String withHeader = runner.oneShot(target -> target
+                .path(TestService.PATH)
+                .request()
+                .header(Constants.X_PRETTY_PRINT, "true")
+                .get(String.class)
+        );
+
+        assertThat(withQueryParameter).isEqualTo(expected);
+        assertThat(withHeader).isEqualTo(expected);
     }
 
 
@@ -54,10 +77,7 @@ public class TestServiceRunnerTest {
 
                 )
         );
-        assertThat(payload).isEqualTo("{\n"
-                + "  \"string\" : \"string\",\n"
-                + "  \"date\" : \"" + LocalDate.now().toString() + "\"\n"
-                + "}");
+        assertThat(payload).isEqualTo("{\"string\":\"string\",\"date\":\"" + LocalDate.now().toString() + "\"}");
     }
 
 
@@ -0,0 +1,139 @@
+package jante;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import jante.model.Addon;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Dependencies between addons, from Addon.initializeAfter. Built once, in time linear to the number of addons and
+ * declared dependencies. A dependency on a class or interface matches every addon that is an instance of it.
+ * Ordering is transitive: if A depends on B and B on C, A is initialized after C.
+ */
+final class AddonDependencyGraph {
+    private final List<Addon> addons;
+    /**
+     * For each addon, the addons that depend on it
+     */
+    private final List<List<Integer>> dependents;
+    private final int[] dependencyCounts;
+
+    private AddonDependencyGraph(List<Addon> addons) {
+        this.addons = addons;
+        this.dependents = Lists.newArrayListWithCapacity(addons.size());
+        this.dependencyCounts = new int[addons.size()];
+
+        Map<Class<?>, List<Integer>> addonsByType = indexByType(addons);
+        for (int i = 0; i < addons.size(); i++) {
+            dependents.add(Lists.newArrayList());
+        }
+        for (int dependent = 0; dependent < addons.size(); dependent++) {
+            for (Class<?> dependency : addons.get(dependent).initializeAfter()) {
+                for (int dependee : addonsByType.getOrDefault(dependency, Lists.newArrayList())) {
+                    if (dependee != dependent) {
+                        dependents.get(dependee).add(dependent);
+                        dependencyCounts[dependent]++;
+                    }
+                }
+            }
+        }
+    }
+
+    static AddonDependencyGraph addonDependencyGraph(List<Addon> addons) {
+        return new AddonDependencyGraph(addons);
+    }
+
+    /**
+     * Groups addons in layers, where each addon only depends on addons in previous layers.
+     * Order within a layer follows the configuration order.
+     */
+    List<List<Addon>> layers() {
+        int[] remainingDependencies = dependencyCounts.clone();
+        int[] layerOf = new int[addons.size()];
+        List<List<Addon>> layers = Lists.newArrayList();
+
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < addons.size(); i++) {
+            if (remainingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int sorted = 0;
+        while (!ready.isEmpty()) {
+            int current = ready.poll();
+            sorted++;
+            for (int dependent : dependents.get(current)) {
+                layerOf[dependent] = Math.max(layerOf[dependent], layerOf[current] + 1);
+                if (--remainingDependencies[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (sorted < addons.size()) {
+            throw new RuntimeException("Dependency loop in addons: " + describeCycle(remainingDependencies));
+        }
+
+        for (int i = 0; i < addons.size(); i++) {
+            while (layers.size() <= layerOf[i]) {
+                layers.add(Lists.newArrayList());
+            }
+            layers.get(layerOf[i]).add(addons.get(i));
+        }
+        return layers;
+    }
+
+    private static Map<Class<?>, List<Integer>> indexByType(List<Addon> addons) {
+        Map<Class<?>, List<Integer>> addonsByType = Maps.newHashMap();
+        for (int i = 0; i < addons.size(); i++) {
+            for (Class<?> type : AddonRepo.supertypes(addons.get(i).getClass())) {
+                addonsByType.computeIfAbsent(type, key -> Lists.newArrayList()).add(i);
+            }
+        }
+        return addonsByType;
+    }
+
+    /**
+     * Follows unresolved dependencies from an addon left unsorted until an addon repeats.
+     * In the result, A -> B means A is to be initialized after B.
+     */
+    private String describeCycle(int[] remainingDependencies) {
+        List<List<Integer>> unresolvedDependencies = Lists.newArrayList();
+        for (int i = 0; i < addons.size(); i++) {
+            unresolvedDependencies.add(Lists.newArrayList());
+        }
+        for (int dependee = 0; dependee < addons.size(); dependee++) {
+            if (remainingDependencies[dependee] > 0) {
+                for (int dependent : dependents.get(dependee)) {
+                    if (remainingDependencies[dependent] > 0) {
+                        unresolvedDependencies.get(dependent).add(dependee);
+                    }
+                }
+            }
+        }
+
+        int current = 0;
+        while (remainingDependencies[current] == 0) {
+            current++;
+        }
+        List<Integer> path = Lists.newArrayList();
+        int[] positionInPath = new int[addons.size()];
+        Arrays.fill(positionInPath, -1);
+        while (positionInPath[current] < 0) {
+            positionInPath[current] = path.size();
+            path.add(current);
+            current = unresolvedDependencies.get(current).get(0);
+        }
+        List<Integer> cycle = Lists.newArrayList(path.subList(positionInPath[current], path.size()));
+        cycle.add(current);
+        return cycle.stream()
+                .map(i -> addons.get(i).getClass().getName())
+                .collect(joining(" -> "));
+    }
+}
@@ -1,25 +1,91 @@
 package jante;
 
 import com.google.common.collect.ImmutableList;
-import jante.addon.NamedAddon;
-import jante.model.Addon;
-import lombok.AllArgsConstructor;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.TypeToken;
 import jante.addon.NamedAddon;
 import jante.model.Addon;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static java.util.stream.Collectors.toList;
-
-@AllArgsConstructor
+/**
+ * Addons indexed by every class and interface they implement, and named addons by (type, name).
+ * Lookups do not scan the addon list. Use a Builder to add addons one at a time without copying the repo.
+ */
 public class AddonRepo {
-    final ImmutableList<Addon> addons;
+    /**
+     * ClassValue, so the cache does not keep addon classes and their class loaders alive
+     */
+    private static final ClassValue<ImmutableSet<Class<?>>> supertypeCache = new ClassValue<ImmutableSet<Class<?>>>() {
+        @Override
+        protected ImmutableSet<Class<?>> computeValue(Class<?> type) {
+            return ImmutableSet.copyOf(TypeToken.of(type).getTypes().rawTypes());
+        }
+    };
+
+    /**
+     * In the order the addons were added
+     */
+    public final List<Addon> addons;
+    private final Map<Class<?>, List<Addon>> addonsByType;
+    /**
+     * Inner maps are HashMaps, which allow the null name
+     */
+    private final Map<Class<?>, Map<String, List<NamedAddon>>> namedAddonsByType;
+
+    public static final AddonRepo emptyAddonRepo = new AddonRepo(ImmutableList.of());
+
+    public AddonRepo(ImmutableList<Addon> addons) {
+        this(builder().addAll(addons));
+    }
+
+    /**
+     * Frozen copy of the builder
+     */
+    private AddonRepo(Builder builder) {
+        this.addons = ImmutableList.copyOf(builder.addons);
+        this.addonsByType = new HashMap<>();
+        builder.addonsByType.forEach((type, addons) -> addonsByType.put(type, ImmutableList.copyOf(addons)));
+        this.namedAddonsByType = new HashMap<>();
+        builder.namedAddonsByType.forEach((type, byName) -> {
+            Map<String, List<NamedAddon>> frozen = new HashMap<>();
+            byName.forEach((name, addons) -> frozen.put(name, ImmutableList.copyOf(addons)));
+            namedAddonsByType.put(type, frozen);
+        });
+    }
+
+    /**
+     * View of the builder, seeing the addons added so far
+     */
+    private AddonRepo(List<Addon> addons, Map<Class<?>, List<Addon>> addonsByType,
+                      Map<Class<?>, Map<String, List<NamedAddon>>> namedAddonsByType) {
+        this.addons = Collections.unmodifiableList(addons);
+        this.addonsByType = addonsByType;
+        this.namedAddonsByType = namedAddonsByType;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Repo with the addon appended. This repo is left unchanged.
+     */
+    public AddonRepo plus(Addon addon) {
+        return plusAll(ImmutableList.of(addon));
+    }
+
+    public AddonRepo plusAll(List<Addon> newAddons) {
+        return builder().addAll(addons).addAll(newAddons).build();
+    }
 
     @SuppressWarnings("unchecked")
     public <T extends Addon> List<T> addonInstances(Class<T> clazz) {
-        return (List<T>) this.addons.stream()
-                .filter(clazz::isInstance)
-                .collect(toList());
+        return Collections.unmodifiableList((List<T>) addonsByType.getOrDefault(clazz, ImmutableList.of()));
     }
 
 
@@ -42,13 +108,12 @@ public class AddonRepo {
         return ret.get(0);
     }
 
+    @SuppressWarnings("unchecked")
     public <T extends NamedAddon> T addonInstanceNamed(Class<T> clazz, String name) {
-        List<T> ret = addonInstances(clazz);
-        if (name != null) {
-            ret = ret.stream().filter(it -> name.equals(it.getName())).collect(toList());
-        } else {
-            ret = ret.stream().filter(it -> it.getName() == null).collect(toList());
-        }
+        Map<String, List<NamedAddon>> byName = namedAddonsByType.get(clazz);
+        List<T> ret = byName == null
+                ? ImmutableList.of()
+                : (List<T>) byName.getOrDefault(name, ImmutableList.of());
 
         if (ret.isEmpty()) {
             return null;
@@ -70,4 +135,49 @@ public class AddonRepo {
     public boolean isAddonPresent(Class<? extends Addon> swaggerAddonClass) {
         return addonInstance(swaggerAddonClass) != null;
     }
+
+    static ImmutableSet<Class<?>> supertypes(Class<?> clazz) {
+        return supertypeCache.get(clazz);
+    }
+
+    /**
+     * Appends addons to a repo, indexing each addon once. The view sees the addons added so far, so one view can
+     * be handed out while addons are added; build freezes the repo.
+     * Not thread safe: do not add while other threads use the view.
+     */
+    public static class Builder {
+        private final List<Addon> addons = new ArrayList<>();
+        private final Map<Class<?>, List<Addon>> addonsByType = new HashMap<>();
+        private final Map<Class<?>, Map<String, List<NamedAddon>>> namedAddonsByType = new HashMap<>();
+        private final AddonRepo view = new AddonRepo(addons, addonsByType, namedAddonsByType);
+
+        private Builder() {
+        }
+
+        public Builder add(Addon addon) {
+            addons.add(addon);
+            for (Class<?> type : supertypes(addon.getClass())) {
+                addonsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(addon);
+                if (addon instanceof NamedAddon) {
+                    namedAddonsByType.computeIfAbsent(type, key -> new HashMap<>())
+                            .computeIfAbsent(((NamedAddon) addon).getName(), key -> new ArrayList<>())
+                            .add((NamedAddon) addon);
+                }
+            }
+            return this;
+        }
+
+        public Builder addAll(Iterable<? extends Addon> addons) {
+            addons.forEach(this::add);
+            return this;
+        }
+
+        public AddonRepo view() {
+            return view;
+        }
+
+        public AddonRepo build() {
+            return new AddonRepo(this);
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package jante;
+
+import jante.util.BinaryFormatProvider;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Sends json responses as Smile or CBOR when the client prefers one of them in Accept.
+ * Resources keep producing application/json; jersey picks json from their @Produces, and the media type is
+ * switched here so the binary provider writes the entity. Registered by JerseyConfig for the option BINARY_FORMATS.
+ * <p>
+ * Json is added to Accept with a low quality before matching when the client only accepts binary formats,
+ * so jersey does not answer 406 for resources producing json. Streams are always written as json arrays by JsonStreamProvider.
+ */
+@PreMatching
+class BinaryFormatFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    static final String JSON_FALLBACK = MediaType.APPLICATION_JSON + ";q=0.1";
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        List<MediaType> acceptable = request.getAcceptableMediaTypes();
+        if (!acceptable.isEmpty() && BinaryFormatProvider.isBinaryFormat(acceptable.get(0))
+                && acceptable.stream().noneMatch(mediaType -> mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE))) {
+            // The header list may be fixed size, so it is replaced rather than changed
+            String accept = request.getHeaderString(HttpHeaders.ACCEPT);
+            request.getHeaders().remove(HttpHeaders.ACCEPT);
+            request.getHeaders().add(HttpHeaders.ACCEPT, accept + ", " + JSON_FALLBACK);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        MediaType mediaType = response.getMediaType();
+        if (!response.hasEntity() || mediaType == null
+                || !"application".equals(mediaType.getType()) || !"json".equals(mediaType.getSubtype())) {
+            return;
+        }
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        List<MediaType> acceptable = request.getAcceptableMediaTypes();
+        if (acceptable.isEmpty() || !BinaryFormatProvider.isBinaryFormat(acceptable.get(0))) {
+            return;
+        }
+        Object entity = response.getEntity();
+        if (entity instanceof String || entity instanceof byte[] || entity instanceof Stream) {
+            return;
+        }
+        MediaType binaryFormat = acceptable.get(0);
+        response.setEntity(entity, response.getEntityAnnotations(), new MediaType(binaryFormat.getType(), binaryFormat.getSubtype()));
+    }
+}
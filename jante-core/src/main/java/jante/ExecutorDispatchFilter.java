@@ -0,0 +1,152 @@
+package jante;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Moves the rest of the filter chain, and the jersey servlet, off the jetty thread and onto the given executor.
+ * The request is put in async mode while the executor works, so the jetty thread is released immediately.
+ * MDC from the jetty thread is copied to the executing thread, so filters further down see the same context.
+ * <p>
+ * Jetty resets the path of the request when the jetty thread leaves the servlet context, so the path is
+ * captured before handing the request over.
+ * <p>
+ * The response is completed when the chain returns, unless the chain took over the async context, as jersey does
+ * for resources with a suspended AsyncResponse. The chain then completes it when the response is resumed.
+ */
+@Slf4j
+class ExecutorDispatchFilter implements Filter {
+    private final Executor executor;
+
+    ExecutorDispatchFilter(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+        DispatchedRequest dispatchedRequest = new DispatchedRequest((HttpServletRequest) request);
+        AsyncContext asyncContext = request.startAsync(dispatchedRequest, response);
+        asyncContext.setTimeout(0);
+        dispatchedRequest.asyncContext = asyncContext;
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            executor.execute(() -> dispatch(asyncContext, dispatchedRequest, chain, mdc));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Request rejected by executor", ex);
+            sendError(asyncContext, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            asyncContext.complete();
+        }
+    }
+
+    private static void dispatch(AsyncContext asyncContext, DispatchedRequest request, FilterChain chain, Map<String, String> mdc) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            chain.doFilter(request, asyncContext.getResponse());
+        } catch (Throwable ex) {
+            // Errors too, as they would otherwise reach the uncaught handler of the executor and leave an empty 200
+            log.error("Unhandled exception in request", ex);
+            sendError(asyncContext, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                asyncContext.complete();
+            }
+            MDC.clear();
+        }
+    }
+
+    private static void sendError(AsyncContext asyncContext, int status) {
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+        if (!response.isCommitted()) {
+            response.reset();
+            response.setStatus(status);
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * The request as seen by the chain. Looks like a request not in async mode until the chain starts async,
+     * which hands the chain the existing async context and the responsibility for completing it.
+     */
+    private static class DispatchedRequest extends HttpServletRequestWrapper {
+        private final String contextPath;
+        private final String servletPath;
+        private final String pathInfo;
+        private final String requestURI;
+        AsyncContext asyncContext;
+        volatile boolean asyncTaken;
+
+        DispatchedRequest(HttpServletRequest request) {
+            super(request);
+            this.contextPath = request.getContextPath();
+            this.servletPath = request.getServletPath();
+            this.pathInfo = request.getPathInfo();
+            this.requestURI = request.getRequestURI();
+        }
+
+        @Override
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        @Override
+        public String getServletPath() {
+            return servletPath;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return pathInfo;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestURI;
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return asyncTaken;
+        }
+
+        @Override
+        public AsyncContext getAsyncContext() {
+            if (!asyncTaken) {
+                throw new IllegalStateException("Async not started");
+            }
+            return asyncContext;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            asyncTaken = true;
+            return asyncContext;
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            return startAsync();
+        }
+    }
+}
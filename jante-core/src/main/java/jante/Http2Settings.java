@@ -0,0 +1,104 @@
+package jante;
+
+import jante.model.PropertyProvider;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Wither;
+
+/**
+ * HTTP/2 for the jetty server. Disabled by default.
+ * As a matter of convention, properties (server.http2.*) have priority over configuration in code.
+ * <p>
+ * When enabled, the http connector also accepts cleartext HTTP/2 (h2c), both by upgrade and prior knowledge.
+ * Setting tlsPort adds a TLS connector negotiating h2 or http/1.1 by ALPN. This requires a key store,
+ * and an ALPN implementation on the classpath (jetty-alpn-java-server on Java 9+).
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString(exclude = "keyStorePassword")
+@EqualsAndHashCode
+public class Http2Settings {
+    public static final String CONFIG_KEY_ENABLED = "server.http2.enabled";
+    public static final String CONFIG_KEY_MAX_CONCURRENT_STREAMS = "server.http2.maxConcurrentStreams";
+    public static final String CONFIG_KEY_INITIAL_SESSION_RECV_WINDOW = "server.http2.initialSessionRecvWindow";
+    public static final String CONFIG_KEY_INITIAL_STREAM_RECV_WINDOW = "server.http2.initialStreamRecvWindow";
+    public static final String CONFIG_KEY_TLS_PORT = "server.http2.tls.port";
+    public static final String CONFIG_KEY_KEY_STORE_PATH = "server.http2.tls.keyStorePath";
+    public static final String CONFIG_KEY_KEY_STORE_PASSWORD = "server.http2.tls.keyStorePassword";
+
+    public static final int TLS_DISABLED = -1;
+
+    @Wither(AccessLevel.PRIVATE)
+    public final boolean enabled;
+    /**
+     * Concurrent streams a client may open on one connection
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int maxConcurrentStreams;
+    /**
+     * Flow control window in bytes for all streams on a connection
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int initialSessionRecvWindow;
+    /**
+     * Flow control window in bytes for each stream
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int initialStreamRecvWindow;
+    @Wither(AccessLevel.PRIVATE)
+    public final int tlsPort;
+    @Wither(AccessLevel.PRIVATE)
+    public final String keyStorePath;
+    @Wither(AccessLevel.PRIVATE)
+    public final String keyStorePassword;
+
+    public static final Http2Settings http2Settings = new Http2Settings(
+            false,
+            128,
+            1024 * 1024,
+            512 * 1024,
+            TLS_DISABLED,
+            null,
+            null
+    );
+
+    public Http2Settings withProperties(PropertyProvider properties) {
+        return this
+                .enabled(Boolean.parseBoolean(properties.getWithFallback(CONFIG_KEY_ENABLED, String.valueOf(enabled))))
+                .maxConcurrentStreams(properties.getWithFallback(CONFIG_KEY_MAX_CONCURRENT_STREAMS, maxConcurrentStreams))
+                .initialSessionRecvWindow(properties.getWithFallback(CONFIG_KEY_INITIAL_SESSION_RECV_WINDOW, initialSessionRecvWindow))
+                .initialStreamRecvWindow(properties.getWithFallback(CONFIG_KEY_INITIAL_STREAM_RECV_WINDOW, initialStreamRecvWindow))
+                .tls(
+                        properties.getWithFallback(CONFIG_KEY_TLS_PORT, tlsPort),
+                        properties.getWithFallback(CONFIG_KEY_KEY_STORE_PATH, keyStorePath),
+                        properties.getWithFallback(CONFIG_KEY_KEY_STORE_PASSWORD, keyStorePassword)
+                );
+    }
+
+    public boolean tlsEnabled() {
+        return enabled && tlsPort != TLS_DISABLED;
+    }
+
+    public Http2Settings enabled(boolean enabled) {
+        return withEnabled(enabled);
+    }
+
+    public Http2Settings maxConcurrentStreams(int maxConcurrentStreams) {
+        return withMaxConcurrentStreams(maxConcurrentStreams);
+    }
+
+    public Http2Settings initialSessionRecvWindow(int initialSessionRecvWindow) {
+        return withInitialSessionRecvWindow(initialSessionRecvWindow);
+    }
+
+    public Http2Settings initialStreamRecvWindow(int initialStreamRecvWindow) {
+        return withInitialStreamRecvWindow(initialStreamRecvWindow);
+    }
+
+    public Http2Settings tls(int tlsPort, String keyStorePath, String keyStorePassword) {
+        return withTlsPort(tlsPort)
+                .withKeyStorePath(keyStorePath)
+                .withKeyStorePassword(keyStorePassword);
+    }
+}
@@ -3,7 +3,10 @@ package jante;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 import com.google.common.collect.ImmutableList;
+import jante.model.SerializationSpec;
 import jante.model.ServiceDefinition;
+import jante.util.BinaryFormatProvider;
+import jante.util.JsonStreamProvider;
 import jante.util.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,6 +14,8 @@ import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.jackson.JacksonFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 
+import java.util.Set;
+
 
 public class JerseyConfig {
 
@@ -21,11 +26,21 @@ public class JerseyConfig {
     private void registerServiceDefintion(ServiceDefinition serviceDefinition) {
         serviceDefinition.getResources().forEach(resourceConfig::register);
 
-        ObjectMapper mapper = JsonUtil.createObjectMapper(serviceDefinition.getSerializationSpec());
+        ObjectMapper mapper = JsonUtil.objectMapper(serviceDefinition.getSerializationSpec());
         JacksonJaxbJsonProvider provider = new JacksonJaxbJsonProvider();
         provider.setMapper(mapper);
         resourceConfig.register(JacksonFeature.class);
         resourceConfig.register(provider);
+        resourceConfig.register(new JsonStreamProvider(serviceDefinition.getSerializationSpec()));
+        Set<String> options = serviceDefinition.getSerializationSpec().getOptions();
+        if (options.contains(SerializationSpec.PRETTY_PRINT_ON_REQUEST)) {
+            resourceConfig.register(new PrettyPrintInterceptor());
+        }
+        if (options.contains(SerializationSpec.BINARY_FORMATS)) {
+            resourceConfig.register(new BinaryFormatProvider.Smile(serviceDefinition.getSerializationSpec()));
+            resourceConfig.register(new BinaryFormatProvider.Cbor(serviceDefinition.getSerializationSpec()));
+            resourceConfig.register(new BinaryFormatFilter());
+        }
     }
 
     public JerseyConfig(ServiceDefinition serviceDefinition, ImmutableList<Injections> injectionsList) {
@@ -0,0 +1,33 @@
+package jante;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Records jersey initialization, including hk2 bindings and resource model validation, in the startup profile.
+ * Does not listen to requests.
+ */
+class JerseyStartupTimer implements ApplicationEventListener {
+    private final StartupProfiler profiler;
+    private volatile long startNanos;
+
+    JerseyStartupTimer(StartupProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_START) {
+            startNanos = System.nanoTime();
+        } else if (event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED && startNanos != 0) {
+            profiler.record("jersey initialization", System.nanoTime() - startNanos);
+        }
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return null;
+    }
+}
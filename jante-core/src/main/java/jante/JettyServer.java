@@ -6,20 +6,34 @@ import jante.util.ExceptionUtil;
 import jante.util.GuavaHelper;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
-import jante.util.GuavaHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
 import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.glassfish.jersey.servlet.ServletContainer;
 
 import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
-import java.net.InetSocketAddress;
 import java.util.EnumSet;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import static lombok.AccessLevel.PRIVATE;
@@ -31,6 +45,10 @@ public final class JettyServer {
     public static final String CONFIG_KEY_SERVER_CONTEXT_PATH = "server.contextPath";
     public static final String CONFIG_KEY_SERVER_PORT = "server.port";
     public static final String CONFIG_KEY_API_PATHSPEC = "server.apiPath";
+    public static final String CONFIG_KEY_REQUEST_EXECUTOR = "server.requestExecutor";
+
+    public static final String REQUEST_EXECUTOR_JETTY = "jetty";
+    public static final String REQUEST_EXECUTOR_VIRTUAL = "virtual";
 
     public static final String DEFAULT_API_PATH_SPEC = "api";
     public static final String DEFAULT_BIND_ADDRESS = "0.0.0.0";
@@ -47,6 +65,20 @@ public final class JettyServer {
     final ImmutableList<Consumer<ServletContextHandler>> apiContextMutators;
     @Wither(PRIVATE)
     ImmutableList<Handler> handlers;
+    @Wither(PRIVATE)
+    public final ServerTuning tuning;
+    /**
+     * Executor for api requests. When null, requests are handled directly on the jetty thread pool.
+     */
+    @Wither(PRIVATE)
+    public final Executor requestExecutor;
+    @Wither(PRIVATE)
+    public final Http2Settings http2;
+    /**
+     * Applied to the api context and all static resource contexts
+     */
+    @Wither(PRIVATE)
+    final ImmutableList<Consumer<ServletContextHandler>> contextMutators;
 
     public static JettyServer jettyServer = new JettyServer(
             "/" + DEFAULT_API_PATH_SPEC + "/*",
@@ -54,6 +86,10 @@ public final class JettyServer {
             "",
             DEFAULT_BIND_PORT,
             ImmutableList.of(),
+            ImmutableList.of(),
+            ServerTuning.serverTuning,
+            null,
+            Http2Settings.http2Settings,
             ImmutableList.of()
     );
 
@@ -66,23 +102,113 @@ public final class JettyServer {
         ServletContextHandler jerseyResourceContext = new ServletContextHandler();
         jerseyResourceContext.addServlet(servletHolder, apiPathSpec);
         jerseyResourceContext.setContextPath("/");
+        if (requestExecutor != null) {
+            FilterHolder dispatchFilterHolder = new FilterHolder(new ExecutorDispatchFilter(requestExecutor));
+            dispatchFilterHolder.setAsyncSupported(true);
+            jerseyResourceContext.addFilter(dispatchFilterHolder, apiPathSpec, EnumSet.of(DispatcherType.REQUEST));
+        }
+        apiContextMutators.forEach(mutator -> mutator.accept(jerseyResourceContext));
 
         ContextHandlerCollection contexts = new ContextHandlerCollection();
         contexts.setHandlers(GuavaHelper.plus(this.handlers, jerseyResourceContext).reverse().toArray(new Handler[0]));
+        GuavaHelper.plus(this.handlers, jerseyResourceContext).stream()
+                .filter(handler -> handler instanceof ServletContextHandler)
+                .forEach(handler -> contextMutators.forEach(mutator -> mutator.accept((ServletContextHandler) handler)));
 
-        Server server = new Server(InetSocketAddress.createUnresolved(bindAddress, bindPort));
-        server.setHandler(contexts);
+        Server server = new Server(createThreadPool());
+        HttpConfiguration httpConfiguration = createHttpConfiguration();
+        server.addConnector(createConnector(server, httpConfiguration));
+        if (http2.tlsEnabled()) {
+            server.addConnector(createTlsConnector(server, httpConfiguration));
+        }
+        StatisticsHandler statistics = null;
+        if (tuning.stopTimeout > 0) {
+            statistics = new StatisticsHandler();
+            statistics.setHandler(contexts);
+            server.setHandler(statistics);
+            server.setStopTimeout(tuning.stopTimeout);
+        } else {
+            server.setHandler(contexts);
+        }
         ExceptionUtil.wrapCheckedExceptionsVoid(server::start);
-        return new Runtime(server, this);
+        return new Runtime(server, this, statistics);
+    }
+
+    private QueuedThreadPool createThreadPool() {
+        BlockingArrayQueue<Runnable> queue = tuning.maxQueuedRequests == ServerTuning.UNBOUNDED
+                ? null
+                : new BlockingArrayQueue<>(tuning.maxQueuedRequests);
+        return new QueuedThreadPool(tuning.maxThreads, tuning.minThreads, tuning.threadIdleTimeout, queue);
+    }
+
+    private HttpConfiguration createHttpConfiguration() {
+        HttpConfiguration httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setOutputBufferSize(tuning.outputBufferSize);
+        return httpConfiguration;
+    }
+
+    private ServerConnector createConnector(Server server, HttpConfiguration httpConfiguration) {
+        HttpConnectionFactory http1 = new HttpConnectionFactory(httpConfiguration);
+        ServerConnector connector = http2.enabled
+                ? new ServerConnector(server, tuning.acceptors, tuning.selectors,
+                http1, configureHttp2(new HTTP2CServerConnectionFactory(httpConfiguration)))
+                : new ServerConnector(server, tuning.acceptors, tuning.selectors, http1);
+        connector.setHost(bindAddress);
+        connector.setPort(bindPort);
+        configureConnector(connector);
+        return connector;
+    }
+
+    private ServerConnector createTlsConnector(Server server, HttpConfiguration httpConfiguration) {
+        HttpConfiguration httpsConfiguration = new HttpConfiguration(httpConfiguration);
+        httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
+
+        HttpConnectionFactory http1 = new HttpConnectionFactory(httpsConfiguration);
+        HTTP2ServerConnectionFactory h2 = configureHttp2(new HTTP2ServerConnectionFactory(httpsConfiguration));
+        ALPNServerConnectionFactory alpn = createAlpn();
+        alpn.setDefaultProtocol(http1.getProtocol());
+
+        SslContextFactory sslContextFactory = new SslContextFactory();
+        sslContextFactory.setKeyStorePath(http2.keyStorePath);
+        sslContextFactory.setKeyStorePassword(http2.keyStorePassword);
+        sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+        sslContextFactory.setUseCipherSuitesOrder(true);
+        SslConnectionFactory tls = new SslConnectionFactory(sslContextFactory, alpn.getProtocol());
+
+        ServerConnector connector = new ServerConnector(server, tuning.acceptors, tuning.selectors, tls, alpn, h2, http1);
+        connector.setHost(bindAddress);
+        connector.setPort(http2.tlsPort);
+        configureConnector(connector);
+        return connector;
+    }
+
+    private static ALPNServerConnectionFactory createAlpn() {
+        try {
+            return new ALPNServerConnectionFactory();
+        } catch (IllegalStateException ex) {
+            throw new IllegalStateException("HTTP/2 over TLS requires an ALPN implementation on the classpath", ex);
+        }
+    }
+
+    private <T extends AbstractHTTP2ServerConnectionFactory> T configureHttp2(T factory) {
+        factory.setMaxConcurrentStreams(http2.maxConcurrentStreams);
+        factory.setInitialSessionRecvWindow(http2.initialSessionRecvWindow);
+        factory.setInitialStreamRecvWindow(http2.initialStreamRecvWindow);
+        return factory;
+    }
+
+    private void configureConnector(ServerConnector connector) {
+        connector.setIdleTimeout(tuning.idleTimeout);
+        connector.setAcceptQueueSize(tuning.acceptQueueSize);
     }
 
     public JettyServer addFilterToApi(Filter logFilter, ImmutableList<DispatcherType> dispatches) {
 
         return apiContextMutator(apiServletContext -> {
-            String pathSpec = jettyServer.apiPathSpec;
             FilterHolder logFilterHolder = new FilterHolder(logFilter);
+            logFilterHolder.setAsyncSupported(true);
             apiServletContext
-                    .addFilter(logFilterHolder, pathSpec, EnumSet.copyOf(dispatches));
+                    .addFilter(logFilterHolder, apiPathSpec, EnumSet.copyOf(dispatches));
         });
     }
 
@@ -98,10 +224,23 @@ public final class JettyServer {
         return handler(webAppContext);
     }
 
+    /**
+     * Applied to the api context and every static resource context when the server starts,
+     * e.g. to set a GzipHandler or init parameters.
+     */
+    public JettyServer contextMutator(Consumer<ServletContextHandler> mutator) {
+        return this.withContextMutators(GuavaHelper.plus(contextMutators, mutator));
+    }
+
+    @Slf4j
     @AllArgsConstructor
     public static class Runtime {
         public final Server server;
         public final JettyServer jettyServer;
+        /**
+         * Request accounting used to drain requests on stop. Null unless server.stopTimeout is set.
+         */
+        public final StatisticsHandler statistics;
 
         public Runtime join() {
             ExceptionUtil.wrapCheckedExceptionsVoid(server::join);
@@ -109,6 +248,9 @@ public final class JettyServer {
         }
 
         public Runtime stop() {
+            if (statistics != null) {
+                log.info("Stopping, waiting up to {} ms for {} requests in progress", server.getStopTimeout(), statistics.getRequestsActive());
+            }
             ExceptionUtil.wrapCheckedExceptionsVoid(server::stop);
             return this;
         }
@@ -130,4 +272,16 @@ public final class JettyServer {
     public JettyServer bindPort(int bindPort) {
         return this.withBindPort(bindPort);
     }
+
+    public JettyServer tuning(ServerTuning tuning) {
+        return this.withTuning(tuning);
+    }
+
+    public JettyServer requestExecutor(Executor requestExecutor) {
+        return this.withRequestExecutor(requestExecutor);
+    }
+
+    public JettyServer http2(Http2Settings http2) {
+        return this.withHttp2(http2);
+    }
 }
@@ -0,0 +1,70 @@
+package jante;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.jaxrs.cfg.EndpointConfigBase;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterInjector;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterModifier;
+import jante.model.Constants;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Pretty prints json responses when the request has the query parameter pretty (?pretty, ?pretty=true)
+ * or the header X-PRETTY-PRINT: true. Registered by JerseyConfig for the option PRETTY_PRINT_ON_REQUEST.
+ * <p>
+ * The shared mapper and its writers are left compact; only the generator of the pretty printed response is changed.
+ */
+class PrettyPrintInterceptor implements ContainerRequestFilter, WriterInterceptor {
+    static final String QUERY_PARAMETER = "pretty";
+    static final String PROPERTYNAME = Constants.PRETTY_PRINT_PROPERTY;
+
+    private static final ObjectWriterModifier prettyPrinter = new ObjectWriterModifier() {
+        @Override
+        public ObjectWriter modify(EndpointConfigBase<?> endpoint, MultivaluedMap<String, Object> responseHeaders,
+                                   Object valueToWrite, ObjectWriter writer, JsonGenerator generator) {
+            generator.useDefaultPrettyPrinter();
+            return writer;
+        }
+    };
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if ("true".equalsIgnoreCase(request.getHeaderString(Constants.X_PRETTY_PRINT)) || hasPrettyQueryParameter(request)) {
+            request.setProperty(PROPERTYNAME, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Only parses the query when it mentions pretty
+     */
+    private static boolean hasPrettyQueryParameter(ContainerRequestContext request) {
+        String query = request.getUriInfo().getRequestUri().getRawQuery();
+        if (query == null || !query.contains(QUERY_PARAMETER)) {
+            return false;
+        }
+        List<String> values = request.getUriInfo().getQueryParameters().get(QUERY_PARAMETER);
+        return values != null && values.stream().anyMatch(value -> value.isEmpty() || "true".equalsIgnoreCase(value));
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (context.getProperty(PROPERTYNAME) == null) {
+            context.proceed();
+            return;
+        }
+        ObjectWriterInjector.set(prettyPrinter);
+        try {
+            context.proceed();
+        } finally {
+            // Cleared by the jackson provider when it writes, and here for entities written by other providers
+            ObjectWriterInjector.getAndClear();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package jante;
+
+import jante.model.PropertyProvider;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Wither;
+
+/**
+ * Sizing of the jetty thread pool and http connector. Defaults are the jetty defaults.
+ * As a matter of convention, properties (server.*) have priority over configuration in code.
+ * <p>
+ * Acceptors and selectors set to JETTY_DEFAULT are chosen by jetty from the number of cpus.
+ * maxQueuedRequests set to UNBOUNDED gives the thread pool an unbounded queue.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@EqualsAndHashCode
+public class ServerTuning {
+    public static final String CONFIG_KEY_MIN_THREADS = "server.threads.min";
+    public static final String CONFIG_KEY_MAX_THREADS = "server.threads.max";
+    public static final String CONFIG_KEY_THREAD_IDLE_TIMEOUT = "server.threads.idleTimeout";
+    public static final String CONFIG_KEY_MAX_QUEUED_REQUESTS = "server.threads.maxQueuedRequests";
+    public static final String CONFIG_KEY_ACCEPTORS = "server.acceptors";
+    public static final String CONFIG_KEY_SELECTORS = "server.selectors";
+    public static final String CONFIG_KEY_IDLE_TIMEOUT = "server.idleTimeout";
+    public static final String CONFIG_KEY_OUTPUT_BUFFER_SIZE = "server.outputBufferSize";
+    public static final String CONFIG_KEY_ACCEPT_QUEUE_SIZE = "server.acceptQueueSize";
+    public static final String CONFIG_KEY_STOP_TIMEOUT = "server.stopTimeout";
+
+    public static final int JETTY_DEFAULT = -1;
+    public static final int UNBOUNDED = -1;
+
+    @Wither(AccessLevel.PRIVATE)
+    public final int minThreads;
+    @Wither(AccessLevel.PRIVATE)
+    public final int maxThreads;
+    /**
+     * Millis before idle threads above minThreads are stopped
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int threadIdleTimeout;
+    /**
+     * Jobs waiting for a thread. When the queue is full, new connections are rejected rather than queued.
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final int maxQueuedRequests;
+    @Wither(AccessLevel.PRIVATE)
+    public final int acceptors;
+    @Wither(AccessLevel.PRIVATE)
+    public final int selectors;
+    /**
+     * Millis before idle connections are closed
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final long idleTimeout;
+    @Wither(AccessLevel.PRIVATE)
+    public final int outputBufferSize;
+    @Wither(AccessLevel.PRIVATE)
+    public final int acceptQueueSize;
+    /**
+     * Millis to wait for requests in progress on stop, after connectors stop accepting. 0 stops immediately.
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final long stopTimeout;
+
+    public static final ServerTuning serverTuning = new ServerTuning(
+            8,
+            200,
+            60_000,
+            UNBOUNDED,
+            JETTY_DEFAULT,
+            JETTY_DEFAULT,
+            30_000,
+            32_768,
+            0,
+            0
+    );
+
+    public ServerTuning withProperties(PropertyProvider properties) {
+        return this
+                .minThreads(properties.getWithFallback(CONFIG_KEY_MIN_THREADS, minThreads))
+                .maxThreads(properties.getWithFallback(CONFIG_KEY_MAX_THREADS, maxThreads))
+                .threadIdleTimeout(properties.getWithFallback(CONFIG_KEY_THREAD_IDLE_TIMEOUT, threadIdleTimeout))
+                .maxQueuedRequests(properties.getWithFallback(CONFIG_KEY_MAX_QUEUED_REQUESTS, maxQueuedRequests))
+                .acceptors(properties.getWithFallback(CONFIG_KEY_ACCEPTORS, acceptors))
+                .selectors(properties.getWithFallback(CONFIG_KEY_SELECTORS, selectors))
+                .idleTimeout(properties.getWithFallback(CONFIG_KEY_IDLE_TIMEOUT, idleTimeout))
+                .outputBufferSize(properties.getWithFallback(CONFIG_KEY_OUTPUT_BUFFER_SIZE, outputBufferSize))
+                .acceptQueueSize(properties.getWithFallback(CONFIG_KEY_ACCEPT_QUEUE_SIZE, acceptQueueSize))
+                .stopTimeout(properties.getWithFallback(CONFIG_KEY_STOP_TIMEOUT, stopTimeout))
+                ;
+    }
+
+    public ServerTuning minThreads(int minThreads) {
+        return withMinThreads(minThreads);
+    }
+
+    public ServerTuning maxThreads(int maxThreads) {
+        return withMaxThreads(maxThreads);
+    }
+
+    public ServerTuning threadIdleTimeout(int threadIdleTimeout) {
+        return withThreadIdleTimeout(threadIdleTimeout);
+    }
+
+    public ServerTuning maxQueuedRequests(int maxQueuedRequests) {
+        return withMaxQueuedRequests(maxQueuedRequests);
+    }
+
+    public ServerTuning acceptors(int acceptors) {
+        return withAcceptors(acceptors);
+    }
+
+    public ServerTuning selectors(int selectors) {
+        return withSelectors(selectors);
+    }
+
+    public ServerTuning idleTimeout(long idleTimeout) {
+        return withIdleTimeout(idleTimeout);
+    }
+
+    public ServerTuning outputBufferSize(int outputBufferSize) {
+        return withOutputBufferSize(outputBufferSize);
+    }
+
+    public ServerTuning acceptQueueSize(int acceptQueueSize) {
+        return withAcceptQueueSize(acceptQueueSize);
+    }
+
+    public ServerTuning stopTimeout(long stopTimeout) {
+        return withStopTimeout(stopTimeout);
+    }
+}
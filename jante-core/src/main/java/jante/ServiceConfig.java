@@ -2,6 +2,8 @@ package jante;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jante.exception.AddonInitializationException;
 import jante.model.Addon;
 import jante.model.PropertyProvider;
 import jante.model.ServiceDefinition;
@@ -9,50 +11,64 @@ import jante.util.GuavaHelper;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
+import static jante.AddonDependencyGraph.addonDependencyGraph;
 import static jante.Injections.injections;
 
+@Slf4j
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class ServiceConfig {
+    public static final String CONFIG_KEY_INITIALIZATION_THREADS = "addons.initializationThreads";
+
     public final ServiceDefinition serviceDefinition;
 
     @Wither(AccessLevel.PACKAGE)
     private final ImmutableList<Addon> addons;
     @Wither(AccessLevel.PACKAGE)
     private final ImmutableList<Function<PropertyProvider, Injections>> injectionConfigs;
+    /**
+     * Threads for initializing independent addons concurrently. 1 initializes all addons sequentially.
+     */
+    @Wither(AccessLevel.PACKAGE)
+    private final int initializationThreads;
 
 
     public static ServiceConfig serviceConfig(ServiceDefinition serviceDefinition) {
-        return new ServiceConfig(serviceDefinition, ImmutableList.of(), ImmutableList.of(props -> injections.bind(props, PropertyProvider.class)));
+        return new ServiceConfig(serviceDefinition, ImmutableList.of(), ImmutableList.of(props -> injections.bind(props, PropertyProvider.class)), 1);
     }
 
 
     Runtime applyProperties(PropertyProvider properties) {
+        return applyProperties(properties, StartupProfiler.startupProfiler());
+    }
+
+    Runtime applyProperties(PropertyProvider properties, StartupProfiler profiler) {
         ImmutableList<Injections> injections = injectionConfigs.stream()
                 .map(f -> f.apply(properties))
                 .collect(GuavaHelper.listCollector());
 
         List<Addon> addonsWithProps = addons.stream()
-                .map(it -> it.withProperties(properties))
+                .map(it -> profiler.time("withProperties " + addonName(it), () -> it.withProperties(properties)))
                 .collect(toList());
 
-        List<Addon> unFinalizedAddons = sortAddonList(addonsWithProps);
-        ImmutableList<Addon> initializedAddons = ImmutableList.of();
+        List<List<Addon>> layers = addonDependencyGraph(addonsWithProps).layers();
+        int threads = properties.getWithFallback(CONFIG_KEY_INITIALIZATION_THREADS, initializationThreads);
+        AddonRepo initializedAddons = threads > 1
+                ? initializeConcurrently(layers, injections, threads, profiler)
+                : initializeSequentially(layers, injections, profiler);
 
-        for (Addon addon : unFinalizedAddons) {
-            Addon initializedAddon = addon.initialize(new Runtime(serviceDefinition, initializedAddons, injections));
-            initializedAddons = GuavaHelper.plus(initializedAddons, initializedAddon);
-        }
-
-        List<Injections> modules = initializedAddons.stream()
-                .map(Addon::getInjections)
+        List<Injections> modules = initializedAddons.addons.stream()
+                .map(addon -> profiler.time("injections " + addonName(addon), addon::getInjections))
                 .collect(toList());
 
         return new Runtime(serviceDefinition, initializedAddons,
@@ -64,27 +80,83 @@ public class ServiceConfig {
     }
 
 
-    private static List<Addon> sortAddonList(List<Addon> addons) {
-        List<Addon> unSortedList = Lists.newArrayList(addons);
-        List<Addon> sortedList = Lists.newArrayList();
-        while (unSortedList.size() > 0) {
-            List<Addon> addonsWithNoDependencies = unSortedList.stream().filter(possiblyDependent -> {
-                Set<Class<?>> dependentOnSet = possiblyDependent.initializeAfter();
-                return dependentOnSet.stream().noneMatch(hasDependenciesInList(unSortedList));
-            }).collect(Collectors.toList());
-            sortedList.addAll(addonsWithNoDependencies);
-            unSortedList.removeAll(addonsWithNoDependencies);
-            if (addonsWithNoDependencies.isEmpty()) {
-                throw new RuntimeException("Dependency loop in addons: " + unSortedList);
+    /**
+     * Each addon sees the addons initialized before it, through the view of one builder that grows as addons are added.
+     */
+    private AddonRepo initializeSequentially(List<List<Addon>> layers, ImmutableList<Injections> injections, StartupProfiler profiler) {
+        AddonRepo.Builder initializedAddons = AddonRepo.builder();
+        Runtime runtime = new Runtime(serviceDefinition, initializedAddons.view(), injections);
+        for (List<Addon> layer : layers) {
+            for (Addon addon : layer) {
+                initializedAddons.add(profiler.time("initialize " + addonName(addon), () -> addon.initialize(runtime)));
+            }
+        }
+        return initializedAddons.build();
+    }
+
+    /**
+     * Addons in the same layer do not depend on each other, and are initialized concurrently. Each addon sees the
+     * addons from previous layers. The result keeps the order of the sequential initialization.
+     * The builder is only added to between layers, while no addon is initializing.
+     */
+    private AddonRepo initializeConcurrently(List<List<Addon>> layers, ImmutableList<Injections> injections, int threads, StartupProfiler profiler) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("addon-init-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            AddonRepo.Builder initializedAddons = AddonRepo.builder();
+            Runtime previousLayers = new Runtime(serviceDefinition, initializedAddons.view(), injections);
+            for (List<Addon> layer : layers) {
+                List<Future<Addon>> futures = layer.stream()
+                        .map(addon -> executor.submit(() -> profiler.time("initialize " + addonName(addon), () -> addon.initialize(previousLayers))))
+                        .collect(toList());
+                initializedAddons.addAll(awaitLayer(layer, futures));
             }
+            return initializedAddons.build();
+        } finally {
+            executor.shutdownNow();
         }
-        return sortedList;
     }
 
-    private static Predicate<Class<?>> hasDependenciesInList(List<Addon> unSortedList) {
-        return dependentOn -> unSortedList.stream().anyMatch(dependentOn::isInstance);
+    private static List<Addon> awaitLayer(List<Addon> layer, List<Future<Addon>> futures) {
+        List<Addon> initialized = Lists.newArrayList();
+        List<Class<? extends Addon>> failedAddons = Lists.newArrayList();
+        List<Throwable> failures = Lists.newArrayList();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                initialized.add(futures.get(i).get());
+            } catch (ExecutionException ex) {
+                failedAddons.add(layer.get(i).getClass());
+                failures.add(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while initializing addons", ex);
+            }
+        }
+        if (failures.size() == 1) {
+            throwUnchecked(failures.get(0));
+        }
+        if (!failures.isEmpty()) {
+            throw new AddonInitializationException(failedAddons, failures);
+        }
+        return initialized;
     }
 
+    static String addonName(Addon addon) {
+        String simpleName = addon.getClass().getSimpleName();
+        return simpleName.isEmpty() ? addon.getClass().getName() : simpleName;
+    }
+
+    private static void throwUnchecked(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new RuntimeException(throwable);
+    }
 
     public ServiceConfig removeAddon(Class<? extends Addon> addon) {
         return this
@@ -105,18 +177,64 @@ public class ServiceConfig {
         return withInjectionConfigs(GuavaHelper.plus(this.injectionConfigs, injectionConfig));
     }
 
+    /**
+     * Fails if addon dependencies contain a loop. Meant for unit tests, to catch ordering problems before deploy.
+     * Uses the addons as configured in code, before properties are applied.
+     */
+    public ServiceConfig validateAddonDependencies() {
+        addonDependencyGraph(addons).layers();
+        return this;
+    }
+
+    /**
+     * Initialize addons without mutual dependencies concurrently, on at most the given number of threads.
+     * Addons must then declare all addons they use in initialize with initializeAfter.
+     * Can be overridden with the property addons.initializationThreads.
+     */
+    public ServiceConfig initializationThreads(int initializationThreads) {
+        return withInitializationThreads(initializationThreads);
+    }
+
     public static class Runtime {
         public final ServiceDefinition serviceDefinition;
         public final AddonRepo addons;
         public final ImmutableList<Injections> injections;
 
         public Runtime(ServiceDefinition serviceDefinition, Iterable<Addon> addons, ImmutableList<Injections> injections) {
+            this(serviceDefinition, new AddonRepo(ImmutableList.copyOf(addons)), injections);
+        }
+
+        public Runtime(ServiceDefinition serviceDefinition, AddonRepo addons, ImmutableList<Injections> injections) {
             this.serviceDefinition = serviceDefinition;
-            this.addons = new AddonRepo(ImmutableList.copyOf(addons));
+            this.addons = addons;
             this.injections = injections;
         }
 
 
+        /**
+         * Calls prepareShutdown on all addons, in reverse initialization order
+         */
+        public void prepareShutdown() {
+            forEachAddonReversed(Addon::prepareShutdown, "Exception while preparing shutdown");
+        }
+
+        /**
+         * Calls cleanUp on all addons, in reverse initialization order
+         */
+        public void cleanUp() {
+            forEachAddonReversed(Addon::cleanUp, "Exception during cleanup");
+        }
+
+        private void forEachAddonReversed(Consumer<Addon> action, String errorMessage) {
+            Lists.reverse(addons.addons).forEach(addon -> {
+                try {
+                    action.accept(addon);
+                } catch (RuntimeException ex) {
+                    log.error(errorMessage, ex);
+                }
+            });
+        }
+
         public List<Injections.Registrator> getRegistrators() {
             return injections.stream()
                     .map(it -> it.registrators.stream())
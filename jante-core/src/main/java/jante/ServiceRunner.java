@@ -3,12 +3,15 @@ package jante;
 import jante.config.PropertyMap;
 import jante.model.Addon;
 import jante.model.PropertyProvider;
+import jante.util.VirtualThreads;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.experimental.Wither;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
+import java.util.concurrent.Executor;
+
 import static lombok.AccessLevel.PRIVATE;
 import static jante.JettyServer.*;
 
@@ -24,21 +27,53 @@ public class ServiceRunner {
     final int port;
     @Wither(PRIVATE)
     final String contextPath;
+    @Wither(PRIVATE)
+    final ServerTuning serverTuning;
+    @Wither(PRIVATE)
+    final Executor requestExecutor;
+    @Wither(PRIVATE)
+    final Http2Settings http2Settings;
 
 
     public static ServiceRunner serviceRunner(ServiceConfig serviceConfig) {
-        return new ServiceRunner(serviceConfig, PropertyMap.propertyMap, 8080, null);
+        return new ServiceRunner(serviceConfig, PropertyMap.propertyMap, 8080, null, ServerTuning.serverTuning, null, Http2Settings.http2Settings);
     }
 
     public ServiceRunner properties(PropertyProvider properties) {
         return withProperties(properties);
     }
 
+    public ServiceRunner serverTuning(ServerTuning serverTuning) {
+        return withServerTuning(serverTuning);
+    }
+
+    public ServiceRunner http2Settings(Http2Settings http2Settings) {
+        return withHttp2Settings(http2Settings);
+    }
+
+    /**
+     * Handle api requests on the given executor instead of the jetty thread pool.
+     * Can be overridden with the property server.requestExecutor (jetty or virtual).
+     */
+    public ServiceRunner requestExecutor(Executor requestExecutor) {
+        return withRequestExecutor(requestExecutor);
+    }
+
+    /**
+     * Handle each api request on its own virtual thread, if the jvm supports it.
+     */
+    public ServiceRunner virtualThreadRequestExecutor() {
+        return withRequestExecutor(virtualThreadExecutorOrNull());
+    }
+
     public Runtime start() {
+        StartupProfiler profiler = StartupProfiler.startupProfiler();
         genericInitialization();
 
-        return finalizeWithProperties()
-                .startServer();
+        Runtime runtime = profiler.time("properties", this::finalizeWithProperties)
+                .startServer(profiler);
+        log.info("{}", runtime.startupReport);
+        return runtime;
     }
 
     private ServiceRunner finalizeWithProperties() {
@@ -56,29 +91,63 @@ public class ServiceRunner {
                 .withProperties(runtimeProperties)
                 .withPort(runtimePort)
                 .withContextPath(runtimeContextPath)
+                .withServerTuning(serverTuning.withProperties(runtimeProperties))
+                .withRequestExecutor(requestExecutorFromProperties(runtimeProperties))
+                .withHttp2Settings(http2Settings.withProperties(runtimeProperties))
                 ;
     }
 
-    private Runtime startServer() {
+    private Executor requestExecutorFromProperties(PropertyProvider runtimeProperties) {
+        String executorName = runtimeProperties.get(CONFIG_KEY_REQUEST_EXECUTOR);
+        if (executorName == null) {
+            return requestExecutor;
+        }
+        switch (executorName) {
+            case REQUEST_EXECUTOR_JETTY:
+                return null;
+            case REQUEST_EXECUTOR_VIRTUAL:
+                return virtualThreadExecutorOrNull();
+            default:
+                throw new IllegalArgumentException("Unknown " + CONFIG_KEY_REQUEST_EXECUTOR + ": " + executorName);
+        }
+    }
+
+    private static Executor virtualThreadExecutorOrNull() {
+        Executor executor = VirtualThreads.newVirtualThreadPerTaskExecutor().orElse(null);
+        if (executor == null) {
+            log.warn("Virtual threads are not supported by this jvm, requests are handled by the jetty thread pool");
+        }
+        return executor;
+    }
+
+    private Runtime startServer(StartupProfiler profiler) {
 
-        ServiceConfig.Runtime configRuntime = this.config.applyProperties(properties);
+        ServiceConfig.Runtime configRuntime = this.config.applyProperties(properties, profiler);
 
-        JerseyConfig jerseyConfig = new JerseyConfig(configRuntime.serviceDefinition, configRuntime.injections);
+        JerseyConfig jerseyConfig = profiler.time("jersey config",
+                () -> new JerseyConfig(configRuntime.serviceDefinition, configRuntime.injections));
+        jerseyConfig.resourceConfig.register(new JerseyStartupTimer(profiler));
 
         JettyServer jettyConfig = jettyServer
                 .bindPort(port)
-                .contextPath(contextPath);
+                .contextPath(contextPath)
+                .tuning(serverTuning)
+                .requestExecutor(requestExecutor)
+                .http2(http2Settings);
 
         for (Addon addon : configRuntime.addons.addons) {
-            jettyConfig = addon.addToJettyServer(jettyConfig);
+            JettyServer current = jettyConfig;
+            jettyConfig = profiler.time("addToJettyServer " + ServiceConfig.addonName(addon), () -> addon.addToJettyServer(current));
         }
 
-        JettyServer.Runtime jettyRuntime = jettyConfig.start(jerseyConfig);
+        JettyServer finalJettyConfig = jettyConfig;
+        JettyServer.Runtime jettyRuntime = profiler.time("jetty start", () -> finalJettyConfig.start(jerseyConfig));
         return Runtime.builder()
                 .configRuntime(configRuntime)
                 .jerseyConfig(jerseyConfig)
                 .jettyRuntime(jettyRuntime)
                 .runner(this)
+                .startupReport(profiler.report())
                 .build();
     }
 
@@ -96,20 +165,26 @@ public class ServiceRunner {
         public final JettyServer.Runtime jettyRuntime;
         public final JerseyConfig jerseyConfig;
         public ServiceRunner runner;
+        /**
+         * Time spent in each startup phase, slowest first
+         */
+        public final StartupProfiler.Report startupReport;
 
         public void join() {
             jettyRuntime.join();
         }
 
+        /**
+         * Stops addons from taking new work, stops jetty (waiting for requests in progress when
+         * server.stopTimeout is set), and then cleans up addons.
+         */
         public void stop() {
-            configRuntime.addons.addons.forEach(addon -> {
-                try {
-                    addon.cleanUp();
-                } catch (RuntimeException ex) {
-                    log.error("Exception during cleanup", ex);
-                }
-            });
-            jettyRuntime.stop();
+            configRuntime.prepareShutdown();
+            try {
+                jettyRuntime.stop();
+            } finally {
+                configRuntime.cleanUp();
+            }
         }
 
         private static RuntimeBuilder builder() {
@@ -0,0 +1,94 @@
+package jante;
+
+import com.google.common.collect.ImmutableList;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static jante.util.GuavaHelper.listCollector;
+
+/**
+ * Records how long each startup phase takes. Safe to use from several threads, e.g. when addons are initialized
+ * concurrently. Phases may overlap, so their sum may differ from the total.
+ */
+public class StartupProfiler {
+    private final long startNanos = System.nanoTime();
+    private final ConcurrentLinkedQueue<Phase> phases = new ConcurrentLinkedQueue<>();
+
+    public static StartupProfiler startupProfiler() {
+        return new StartupProfiler();
+    }
+
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void timeVoid(String phase, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String phase, long durationNanos) {
+        phases.add(new Phase(phase, TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Phases so far, slowest first
+     */
+    public Report report() {
+        ImmutableList<Phase> sorted = phases.stream()
+                .sorted(Comparator.comparingLong((Phase phase) -> phase.micros).reversed())
+                .collect(listCollector());
+        return new Report(TimeUnit.NANOSECONDS.toMicros(elapsedNanos()), sorted);
+    }
+
+    @AllArgsConstructor
+    @ToString
+    @EqualsAndHashCode
+    public static class Phase {
+        public final String name;
+        public final long micros;
+    }
+
+    @AllArgsConstructor
+    public static class Report {
+        public final long totalMicros;
+        public final List<Phase> phases;
+
+        public Phase phase(String name) {
+            return phases.stream()
+                    .filter(phase -> phase.name.equals(name))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Startup took ")
+                    .append(totalMicros / 1000).append(" ms");
+            phases.forEach(phase -> sb.append("\n  ")
+                    .append(String.format("%8.1f ms  ", phase.micros / 1000.0))
+                    .append(phase.name));
+            return sb.toString();
+        }
+    }
+}
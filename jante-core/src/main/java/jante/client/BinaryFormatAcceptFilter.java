@@ -0,0 +1,27 @@
+package jante.client;
+
+import jante.util.BinaryFormatProvider;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * Asks for Smile before json on calls accepting only json. Services without the option BINARY_FORMATS answer with json.
+ * Request entities are still sent as json. Registered by ClientGenerator for the option BINARY_FORMATS.
+ */
+public class BinaryFormatAcceptFilter implements ClientRequestFilter {
+    static final String ACCEPT_SMILE_OR_JSON = BinaryFormatProvider.APPLICATION_SMILE + ", " + MediaType.APPLICATION_JSON + ";q=0.9";
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        List<MediaType> acceptable = requestContext.getAcceptableMediaTypes();
+        if (acceptable.size() == 1 && acceptable.get(0).equals(MediaType.APPLICATION_JSON_TYPE)) {
+            // The header list may be fixed size, so it is replaced rather than changed
+            requestContext.getHeaders().remove(HttpHeaders.ACCEPT);
+            requestContext.getHeaders().add(HttpHeaders.ACCEPT, ACCEPT_SMILE_OR_JSON);
+        }
+    }
+}
@@ -7,9 +7,12 @@ import jante.Injections;
 import jante.model.SerializationSpec;
 import jante.model.ServiceDefinition;
 import jante.model.Version;
+import jante.trace.SpanExporter;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
+import jante.util.BinaryFormatProvider;
+import jante.util.JsonStreamProvider;
 import jante.util.JsonUtil;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.client.ClientConfig;
@@ -33,8 +36,13 @@ public class ClientGenerator {
     public final SerializationSpec serializationSpec;
     @Wither(AccessLevel.PRIVATE)
     public final String clientAppName;
+    /**
+     * Exports spans of calls made outside a traced request, see TracingClientFilter
+     */
+    @Wither(AccessLevel.PRIVATE)
+    public final SpanExporter spanExporter;
 
-    public static ClientGenerator clientGenerator = new ClientGenerator(null, null, null, SerializationSpec.standard, null);
+    public static ClientGenerator clientGenerator = new ClientGenerator(null, null, null, SerializationSpec.standard, null, null);
 
     public Client generate() {
         ClientConfig clientConfig = clientConfigBase != null
@@ -44,14 +52,23 @@ public class ClientGenerator {
         binders.add(binder -> binder.bind(targetName).to(String.class).named(TARGET_NAME_INJECTION));
         binders.add(binder -> binder.bind(targetVersion).to(Version.class));
 
-        ObjectMapper mapper = JsonUtil.createObjectMapper(serializationSpec);
+        ObjectMapper mapper = JsonUtil.objectMapper(serializationSpec);
         JacksonJaxbJsonProvider provider = new JacksonJaxbJsonProvider();
         provider.setMapper(mapper);
         clientConfig.register(provider);
+        clientConfig.register(new JsonStreamProvider(serializationSpec));
+        if (serializationSpec.getOptions().contains(SerializationSpec.BINARY_FORMATS)) {
+            clientConfig.register(new BinaryFormatProvider.Smile(serializationSpec));
+            clientConfig.register(new BinaryFormatProvider.Cbor(serializationSpec));
+            clientConfig.register(BinaryFormatAcceptFilter.class);
+        }
         binders.add(binder -> binder.bind(mapper).to(ObjectMapper.class));
         if (!Strings.isNullOrEmpty(clientAppName)) {
             binders.add(binder -> binder.bind(clientAppName).to(String.class).named(ClientNameFilter.CLIENT_APPNAME));
         }
+        if (spanExporter != null) {
+            binders.add(binder -> binder.bind(spanExporter).to(SpanExporter.class));
+        }
 
         clientConfig.register(new AbstractBinder() {
             @Override
@@ -71,6 +88,10 @@ public class ClientGenerator {
         return withClientAppName(clientAppName);
     }
 
+    public ClientGenerator spanExporter(SpanExporter spanExporter) {
+        return withSpanExporter(spanExporter);
+    }
+
     public ClientGenerator targetName(String targetName) {
         return withTargetName(targetName);
     }
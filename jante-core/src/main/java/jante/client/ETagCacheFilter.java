@@ -0,0 +1,113 @@
+package jante.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import lombok.AllArgsConstructor;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client side cache of GET responses with an ETag. Requests for a cached url send If-None-Match, and a 304 Not Modified
+ * is answered with the cached body, so polling clients only download and parse changed payloads.
+ * <p>
+ * Opt-in with etagCache in StubGenerator or TargetGenerator. The cache is in the filter, so share one instance
+ * between the stubs polling the same service. Bodies are kept as bytes, at most maxBytes in total.
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class ETagCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+    public static final long DEFAULT_MAX_BYTES = 10 * 1024 * 1024;
+    static final String CACHED_PROPERTY = "ETagCacheFilter.cached";
+    static final String KEY_PROPERTY = "ETagCacheFilter.key";
+
+    private final long maxBytes;
+    private final Cache<String, CachedResponse> cache;
+    private final LongAdder notModified = new LongAdder();
+
+    public ETagCacheFilter(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse cached) -> cached.body.length)
+                .build();
+    }
+
+    public static ETagCacheFilter etagCacheFilter() {
+        return new ETagCacheFilter(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Responses answered from the cache
+     */
+    public long notModifiedCount() {
+        return notModified.sum();
+    }
+
+    @Override
+    public void filter(ClientRequestContext request) {
+        if (!HttpMethod.GET.equals(request.getMethod()) || request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            return;
+        }
+        // Kept for the response, as filters running later may change Accept
+        String key = key(request);
+        request.setProperty(KEY_PROPERTY, key);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            request.getHeaders().add(HttpHeaders.IF_NONE_MATCH, cached.etag);
+            request.setProperty(CACHED_PROPERTY, cached);
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        CachedResponse cached = (CachedResponse) request.getProperty(CACHED_PROPERTY);
+        if (cached != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            notModified.increment();
+            response.setStatus(Response.Status.OK.getStatusCode());
+            if (cached.contentType != null) {
+                // The header list may be fixed size, so it is replaced rather than changed
+                response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                response.getHeaders().add(HttpHeaders.CONTENT_TYPE, cached.contentType);
+            }
+            response.setEntityStream(new ByteArrayInputStream(cached.body));
+            return;
+        }
+        String key = (String) request.getProperty(KEY_PROPERTY);
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        if (key == null || response.getStatus() != Response.Status.OK.getStatusCode() || etag == null || !response.hasEntity()
+                || response.getLength() > maxBytes) {
+            return;
+        }
+        byte[] body = ByteStreams.toByteArray(response.getEntityStream());
+        response.setEntityStream(new ByteArrayInputStream(body));
+        cache.put(key, new CachedResponse(etag, response.getHeaderString(HttpHeaders.CONTENT_TYPE), body));
+    }
+
+    /**
+     * Responses to other Accept headers may be other representations
+     */
+    private static String key(ClientRequestContext request) {
+        return request.getUri() + " " + request.getHeaderString(HttpHeaders.ACCEPT);
+    }
+
+    @AllArgsConstructor
+    private static class CachedResponse {
+        final String etag;
+        final String contentType;
+        final byte[] body;
+    }
+}
@@ -0,0 +1,42 @@
+package jante.client;
+
+import jante.jfr.JfrEvent;
+import jante.jfr.JfrEvents;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+/**
+ * Records a ClientCallEvent for each call while a flight recording has it enabled.
+ * Calls failing without a response are not committed.
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+public class JfrClientFilter implements ClientRequestFilter, ClientResponseFilter {
+    public static final String PROPERTYNAME = "JfrClientFilter.event";
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        if (!JfrEvents.clientCallEnabled()) {
+            return;
+        }
+        JfrEvent event = JfrEvents.newClientCall();
+        event.begin();
+        requestContext.setProperty(PROPERTYNAME, event);
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        JfrEvent event = (JfrEvent) requestContext.getProperty(PROPERTYNAME);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            JfrEvents.commitClientCall(event, requestContext.getMethod(), requestContext.getUri().toString(), responseContext.getStatus());
+        }
+    }
+}
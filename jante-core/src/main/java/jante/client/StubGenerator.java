@@ -29,10 +29,12 @@ public class StubGenerator {
     final ImmutableList<Cookie> cookies;
     @Wither(AccessLevel.PRIVATE)
     final ImmutableMap<String, String> headers;
+    @Wither(AccessLevel.PRIVATE)
+    final ETagCacheFilter etagCache;
 
 
     public static StubGenerator stubGenerator(Client client, URI uri) {
-        return new StubGenerator(client, uri, true, true, ImmutableList.of(), ImmutableMap.of());
+        return new StubGenerator(client, uri, true, true, ImmutableList.of(), ImmutableMap.of(), null);
     }
 
     public <T> T generateClient(Class<T> resource) {
@@ -47,10 +49,15 @@ public class StubGenerator {
             webTarget.register(ClientErrorResponseFilter.class);
         }
         webTarget.register(RequestIdClientFilter.class);
+        webTarget.register(TracingClientFilter.class);
+        webTarget.register(JfrClientFilter.class);
         webTarget.register(ClientNameFilter.class);
         if (logging) {
             webTarget.register(ClientLogFilter.class);
         }
+        if (etagCache != null) {
+            webTarget.register(etagCache);
+        }
 
         return WebResourceFactory.newResource(resource, webTarget, false, headerArg, cookies, new Form());
     }
@@ -71,4 +78,11 @@ public class StubGenerator {
     public StubGenerator logging(boolean logging) {
         return withLogging(logging);
     }
+
+    /**
+     * Revalidate GET responses with If-None-Match, answering 304 Not Modified from the cache
+     */
+    public StubGenerator etagCache(ETagCacheFilter etagCache) {
+        return withEtagCache(etagCache);
+    }
 }
@@ -23,9 +23,11 @@ public class TargetGenerator {
     final boolean throwExceptionForErrors;
     @Wither(AccessLevel.PRIVATE)
     final boolean logging;
+    @Wither(AccessLevel.PRIVATE)
+    final ETagCacheFilter etagCache;
 
     public static TargetGenerator targetGenerator(Client client, URI uri) {
-        return new TargetGenerator(client, uri, ImmutableMap.of(), false, true);
+        return new TargetGenerator(client, uri, ImmutableMap.of(), false, true, null);
     }
 
     public WebTarget generate() {
@@ -46,10 +48,15 @@ public class TargetGenerator {
             target.register(ClientErrorResponseFilter.class);
         }
         target.register(RequestIdClientFilter.class);
+        target.register(TracingClientFilter.class);
+        target.register(JfrClientFilter.class);
         target.register(ClientNameFilter.class);
         if (logging) {
             target.register(ClientLogFilter.class);
         }
+        if (etagCache != null) {
+            target.register(etagCache);
+        }
 
         return target;
     }
@@ -65,4 +72,11 @@ public class TargetGenerator {
     public TargetGenerator logging(boolean logging) {
         return withLogging(logging);
     }
+
+    /**
+     * Revalidate GET responses with If-None-Match, answering 304 Not Modified from the cache
+     */
+    public TargetGenerator etagCache(ETagCacheFilter etagCache) {
+        return withEtagCache(etagCache);
+    }
 }
@@ -0,0 +1,55 @@
+package jante.client;
+
+import jante.trace.Span;
+import jante.trace.SpanExporter;
+import jante.trace.TraceContext;
+import jante.trace.Tracing;
+import org.jvnet.hk2.annotations.Optional;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+/**
+ * Opens a client span for each call, child of the current span, and sends it as the traceparent header.
+ * Without a current span, the call is the root of a new trace exported to the SpanExporter bound by ClientGenerator.
+ * Does nothing when there is neither. Calls failing without a response are not exported.
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+public class TracingClientFilter implements ClientRequestFilter, ClientResponseFilter {
+    public static final String PROPERTYNAME = "TracingClientFilter.span";
+
+    private final SpanExporter exporter;
+
+    @Inject
+    public TracingClientFilter(@Optional SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        Span span = Tracing.startSpan(requestContext.getMethod() + " " + requestContext.getUri().getPath(), Span.Kind.CLIENT, exporter);
+        if (span == null) {
+            return;
+        }
+        span.attribute("http.method", requestContext.getMethod())
+                .attribute("http.url", requestContext.getUri().toString());
+        requestContext.setProperty(PROPERTYNAME, span);
+        requestContext.getHeaders().putSingle(TraceContext.TRACEPARENT, span.context.toTraceparent());
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        Span span = (Span) requestContext.getProperty(PROPERTYNAME);
+        if (span == null) {
+            return;
+        }
+        span.attribute("http.status_code", responseContext.getStatus())
+                .error(responseContext.getStatus() >= 500)
+                .end();
+    }
+}
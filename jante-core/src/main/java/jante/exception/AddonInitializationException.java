@@ -0,0 +1,20 @@
+package jante.exception;
+
+import jante.model.Addon;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Thrown when several addons fail to initialize in the same layer. Each failure is added as a suppressed exception.
+ */
+public class AddonInitializationException extends RuntimeException {
+    public final List<Class<? extends Addon>> failedAddons;
+
+    public AddonInitializationException(List<Class<? extends Addon>> failedAddons, List<Throwable> failures) {
+        super("Initialization failed for addons: " + failedAddons.stream().map(Class::getName).collect(joining(", ")));
+        this.failedAddons = failedAddons;
+        failures.forEach(this::addSuppressed);
+    }
+}
@@ -0,0 +1,9 @@
+package jante.exception;
+
+/**
+ * Marks exceptions thrown for expected conditions, like 404s and user errors, that are created without a stack trace.
+ * Implementations override fillInStackTrace to return this, which skips the stack walk when they are created.
+ * The exception mappers never log stack traces for them.
+ */
+public interface Stackless {
+}
@@ -0,0 +1,16 @@
+package jante.exception;
+
+/**
+ * ExternalResourceNotFoundException without a stack trace
+ */
+public class StacklessExternalResourceNotFoundException extends ExternalResourceNotFoundException implements Stackless {
+
+    public StacklessExternalResourceNotFoundException(MetaData metaData) {
+        super(metaData);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,19 @@
+package jante.exception;
+
+import jante.model.HttpProblem;
+import jante.model.LogLevel;
+
+/**
+ * HttpProblemException without a stack trace
+ */
+public class StacklessHttpProblemException extends HttpProblemException implements Stackless {
+
+    public StacklessHttpProblemException(HttpProblem httpProblem, LogLevel logLevel) {
+        super(httpProblem, logLevel, false);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package jante.exception;
+
+/**
+ * UserMessageException without a stack trace
+ */
+public class StacklessUserMessageException extends UserMessageException implements Stackless {
+
+    public StacklessUserMessageException(String detail) {
+        super(detail);
+    }
+
+    public StacklessUserMessageException(String detail, int status) {
+        super(detail, status);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,32 @@
+package jante.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call from a generated client or web target, committed by JfrClientFilter when the response arrives.
+ */
+@Name("jante.ClientCall")
+@Label("Client Call")
+@Category({"Jante", "HTTP"})
+@Description("Outgoing http call from a client made by StubGenerator or TargetGenerator")
+@StackTrace(false)
+public class ClientCallEvent extends Event implements JfrEvent {
+    private static final EventType eventType = EventType.getEventType(ClientCallEvent.class);
+
+    @Label("Method")
+    public String method;
+    @Label("URL")
+    public String url;
+    @Label("Status")
+    public int status;
+
+    public static boolean enabled() {
+        return eventType.isEnabled();
+    }
+}
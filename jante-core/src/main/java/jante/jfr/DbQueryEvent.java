@@ -0,0 +1,33 @@
+package jante.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One statement run through QueryRunnerAdapter or a JdbiAddon DBI.
+ * JDBI reports statements after they complete, so for those the event has no duration, only the execution time.
+ */
+@Name("jante.DbQuery")
+@Label("Database Query")
+@Category({"Jante", "Database"})
+@Description("SQL statement run by QueryRunnerAdapter or JDBI")
+public class DbQueryEvent extends Event implements JfrEvent {
+    private static final EventType eventType = EventType.getEventType(DbQueryEvent.class);
+
+    @Label("Operation")
+    public String operation;
+    @Label("SQL")
+    public String sql;
+    @Label("Execution Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long executionTime;
+
+    public static boolean enabled() {
+        return eventType.isEnabled();
+    }
+}
@@ -0,0 +1,28 @@
+package jante.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One run of Indexer.index, including mapping updates, bulk requests and the final refresh.
+ */
+@Name("jante.Index")
+@Label("Index")
+@Category({"Jante", "Elasticsearch"})
+@Description("Documents indexed in elasticsearch")
+public class IndexEvent extends Event implements JfrEvent {
+    private static final EventType eventType = EventType.getEventType(IndexEvent.class);
+
+    @Label("Index")
+    public String index;
+    @Label("Documents")
+    public int documents;
+
+    public static boolean enabled() {
+        return eventType.isEnabled();
+    }
+}
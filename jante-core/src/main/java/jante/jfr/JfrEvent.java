@@ -0,0 +1,12 @@
+package jante.jfr;
+
+/**
+ * A jante event as seen by callers, without jdk.jfr types. The methods are implemented by jdk.jfr.Event.
+ */
+public interface JfrEvent {
+    void begin();
+
+    void end();
+
+    boolean shouldCommit();
+}
@@ -0,0 +1,113 @@
+package jante.jfr;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The jante flight recorder events, for code outside this package. Callers only reference this class and JfrEvent,
+ * so they load on runtimes without jdk.jfr, such as JDK 8 before u262, where every event is reported disabled.
+ * <p>
+ * Check the enabled method before creating an event, so nothing is allocated unless a recording has it enabled.
+ * Then end the event, and commit it if shouldCommit, so the fields are only computed for recorded events.
+ */
+@Slf4j
+public final class JfrEvents {
+    private static final boolean available = jfrAvailable();
+
+    private JfrEvents() {
+    }
+
+    private static boolean jfrAvailable() {
+        try {
+            // Loads jdk.jfr, and fails without it
+            ServerRequestEvent.enabled();
+            return true;
+        } catch (LinkageError e) {
+            log.info("Flight recorder not available, jante events are disabled: {}", e.toString());
+            return false;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    public static boolean serverRequestEnabled() {
+        return available && ServerRequestEvent.enabled();
+    }
+
+    public static JfrEvent newServerRequest() {
+        return new ServerRequestEvent();
+    }
+
+    public static void commitServerRequest(JfrEvent event, String method, String path, String resourceMethod, int status) {
+        ServerRequestEvent serverRequest = (ServerRequestEvent) event;
+        serverRequest.method = method;
+        serverRequest.path = path;
+        serverRequest.resourceMethod = resourceMethod;
+        serverRequest.status = status;
+        serverRequest.commit();
+    }
+
+    public static boolean clientCallEnabled() {
+        return available && ClientCallEvent.enabled();
+    }
+
+    public static JfrEvent newClientCall() {
+        return new ClientCallEvent();
+    }
+
+    public static void commitClientCall(JfrEvent event, String method, String url, int status) {
+        ClientCallEvent clientCall = (ClientCallEvent) event;
+        clientCall.method = method;
+        clientCall.url = url;
+        clientCall.status = status;
+        clientCall.commit();
+    }
+
+    public static boolean dbQueryEnabled() {
+        return available && DbQueryEvent.enabled();
+    }
+
+    public static JfrEvent newDbQuery() {
+        return new DbQueryEvent();
+    }
+
+    public static void commitDbQuery(JfrEvent event, String operation, String sql, long executionTimeNanos) {
+        DbQueryEvent dbQuery = (DbQueryEvent) event;
+        dbQuery.operation = operation;
+        dbQuery.sql = sql;
+        dbQuery.executionTime = executionTimeNanos;
+        dbQuery.commit();
+    }
+
+    public static boolean indexEnabled() {
+        return available && IndexEvent.enabled();
+    }
+
+    public static JfrEvent newIndex() {
+        return new IndexEvent();
+    }
+
+    public static void commitIndex(JfrEvent event, String index, int documents) {
+        IndexEvent indexEvent = (IndexEvent) event;
+        indexEvent.index = index;
+        indexEvent.documents = documents;
+        indexEvent.commit();
+    }
+
+    public static boolean messageEnabled() {
+        return available && MessageEvent.enabled();
+    }
+
+    public static JfrEvent newMessage() {
+        return new MessageEvent();
+    }
+
+    public static void commitMessage(JfrEvent event, String queue, String requestId, boolean failed) {
+        MessageEvent message = (MessageEvent) event;
+        message.queue = queue;
+        message.requestId = requestId;
+        message.failed = failed;
+        message.commit();
+    }
+}
@@ -0,0 +1,32 @@
+package jante.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One message received from a queue, from when the listener gets it until the handler returns.
+ */
+@Name("jante.Message")
+@Label("Message")
+@Category({"Jante", "Messaging"})
+@Description("Message handled by a queue listener")
+@StackTrace(false)
+public class MessageEvent extends Event implements JfrEvent {
+    private static final EventType eventType = EventType.getEventType(MessageEvent.class);
+
+    @Label("Queue")
+    public String queue;
+    @Label("Request Id")
+    public String requestId;
+    @Label("Failed")
+    public boolean failed;
+
+    public static boolean enabled() {
+        return eventType.isEnabled();
+    }
+}
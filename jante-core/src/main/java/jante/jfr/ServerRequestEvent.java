@@ -0,0 +1,40 @@
+package jante.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One http request, from the jersey request filter to the response filter. Committed by ServerLogFilter.
+ * <p>
+ * The jante events are recorded when enabled in a recording, e.g. started with -XX:StartFlightRecording or jcmd JFR.start.
+ * Created and committed through JfrEvents, which reports the events disabled on runtimes without jdk.jfr.
+ */
+@Name("jante.ServerRequest")
+@Label("Server Request")
+@Category({"Jante", "HTTP"})
+@Description("Request handled by a jersey resource")
+@StackTrace(false)
+public class ServerRequestEvent extends Event implements JfrEvent {
+    private static final EventType eventType = EventType.getEventType(ServerRequestEvent.class);
+
+    @Label("Method")
+    public String method;
+    @Label("Path")
+    public String path;
+    @Label("Resource Method")
+    public String resourceMethod;
+    @Label("Status")
+    public int status;
+
+    /**
+     * True while a recording has the event enabled. Reads one field, and is checked before allocating the event.
+     */
+    public static boolean enabled() {
+        return eventType.isEnabled();
+    }
+}
@@ -45,16 +45,29 @@ public interface Addon {
 
     /**
      * Returns a list of addon classes that the addon should be finalized after. Thus this addon
-     * may utilize said addons in its initialize step.
+     * may utilize said addons in its initialize step. Classes and interfaces match all addons that are instances of them.
      * <p>
-     * WARNING: dependency resolution is not transient. Thus if A->B->C, A.initializeAfter should return (B,C) and B.finalizeafter should return (C).
+     * Dependency resolution is transitive. Thus if A->B->C, A is initialized after both B and C.
+     * Loops fail on startup, or earlier with ServiceConfig.validateAddonDependencies.
+     * <p>
+     * With ServiceConfig.initializationThreads, addons not listed here may be initialized concurrently with this addon.
      */
     default Set<Class<?>> initializeAfter() {
         return ImmutableSet.of();
     }
 
+    /**
+     * Stops taking new work from sources other than http, e.g. message listeners. Work in progress may complete.
+     * <p>
+     * Runs on stop, before jetty stops. Addons are called in reverse initialization order.
+     */
+    default void prepareShutdown() {
+    }
+
     /**
      * Removes any lingering state upon stopping.
+     * <p>
+     * Runs after jetty has stopped, in reverse initialization order.
      */
     default void cleanUp() {
     }
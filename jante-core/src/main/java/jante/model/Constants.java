@@ -3,5 +3,10 @@ package jante.model;
 public final class Constants {
     public static final String CLIENT_APPNAME_HEADER = "X-CLIENT-APPNAME";
     public static final String X_REQUEST_ID = "X-REQUEST-ID";
+    public static final String X_PRETTY_PRINT = "X-PRETTY-PRINT";
+    /**
+     * Request property set by PrettyPrintInterceptor for requests to pretty print
+     */
+    public static final String PRETTY_PRINT_PROPERTY = "PrettyPrintInterceptor.pretty";
     public static final String APPCONFIG_KEY = "SERVICE_CONFIG";
 }
@@ -40,6 +40,20 @@ public interface PropertyProvider {
         return Integer.valueOf(getWithFallback(key, String.valueOf(fallback)));
     }
 
+    /**
+     * Retreives property for given string, returning fallback on missing or empty. Fallback may be null.
+     *
+     * Throws NumberFormatException naming the key if the property is not a number
+     */
+    default Long getWithFallback(String key, Long fallback) {
+        String value = getWithFallback(key, String.valueOf(fallback));
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("property " + key + " is not a number: " + value);
+        }
+    }
+
     /**
      * Retreives property for given string, returning fallback on missing or empty.
      *
@@ -0,0 +1,47 @@
+package jante.trace;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each span as a JSON line to a file. Lines are flushed as they are written.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+    private final Writer writer;
+
+    public FileSpanExporter(Path file) {
+        try {
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open span file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void export(Span span) {
+        try {
+            writer.write(span.toJson());
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Could not write span {}", span.name, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close span file", e);
+        }
+    }
+}
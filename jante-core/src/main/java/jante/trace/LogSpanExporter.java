@@ -0,0 +1,17 @@
+package jante.trace;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes each span as a JSON line to the logger jante.trace.LogSpanExporter at INFO.
+ * Route this logger to its own file in logback.xml to keep spans apart from the application log.
+ */
+@Slf4j
+public class LogSpanExporter implements SpanExporter {
+    @Override
+    public void export(Span span) {
+        if (log.isInfoEnabled()) {
+            log.info(span.toJson());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package jante.trace;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed operation in a trace. Started by Tracing.startSpan and exported when ended.
+ * Not thread safe; a span is used by the thread doing the operation.
+ */
+public class Span {
+    public enum Kind {
+        SERVER, CLIENT, PRODUCER, CONSUMER, INTERNAL
+    }
+
+    public final String name;
+    public final Kind kind;
+    public final TraceContext context;
+    /**
+     * Null for the root span of a trace
+     */
+    public final String parentSpanId;
+    public final long startEpochMicros;
+    private final long startNanos;
+    private final Map<String, Object> attributes = Maps.newLinkedHashMap();
+    private long durationMicros = -1;
+    private boolean error;
+    final SpanExporter exporter;
+
+    Span(String name, Kind kind, TraceContext context, String parentSpanId, SpanExporter exporter) {
+        this.name = name;
+        this.kind = kind;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.exporter = exporter;
+        this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.startNanos = System.nanoTime();
+    }
+
+    public Span attribute(String key, Object value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    public Span error(boolean error) {
+        this.error = error;
+        return this;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public Map<String, Object> attributes() {
+        return attributes;
+    }
+
+    /**
+     * -1 until ended
+     */
+    public long durationMicros() {
+        return durationMicros;
+    }
+
+    /**
+     * Ends and exports the span, if sampled. Ending twice has no effect.
+     */
+    public void end() {
+        if (durationMicros >= 0) {
+            return;
+        }
+        durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        if (context.sampled && exporter != null) {
+            exporter.export(this);
+        }
+    }
+
+    /**
+     * One JSON object, as written by the exporters
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"traceId\":\"").append(context.traceId)
+                .append("\",\"spanId\":\"").append(context.spanId).append('"');
+        if (parentSpanId != null) {
+            json.append(",\"parentSpanId\":\"").append(parentSpanId).append('"');
+        }
+        json.append(",\"name\":");
+        appendString(json, name);
+        json.append(",\"kind\":\"").append(kind).append('"')
+                .append(",\"startMicros\":").append(startEpochMicros)
+                .append(",\"durationMicros\":").append(durationMicros)
+                .append(",\"error\":").append(error);
+        if (!attributes.isEmpty()) {
+            json.append(",\"attributes\":{");
+            boolean first = true;
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                json.append(first ? "" : ",");
+                appendString(json, attribute.getKey());
+                json.append(':');
+                Object value = attribute.getValue();
+                if (value instanceof Number || value instanceof Boolean) {
+                    json.append(value);
+                } else {
+                    appendString(json, String.valueOf(value));
+                }
+                first = false;
+            }
+            json.append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
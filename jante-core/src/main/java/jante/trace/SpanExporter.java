@@ -0,0 +1,12 @@
+package jante.trace;
+
+/**
+ * Receives spans when they end, on the thread ending the span. Implementations must be thread safe.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    void export(Span span);
+
+    default void close() {
+    }
+}
@@ -0,0 +1,91 @@
+package jante.trace;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace id, span id and sampled flag, propagated between services in the W3C traceparent header:
+ * "00-{32 hex trace id}-{16 hex span id}-{2 hex flags}".
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TraceContext {
+    public static final String TRACEPARENT = "traceparent";
+
+    public final String traceId;
+    public final String spanId;
+    public final boolean sampled;
+
+    public static TraceContext root() {
+        return new TraceContext(randomHex(32), randomHex(16), true);
+    }
+
+    public TraceContext child() {
+        return new TraceContext(traceId, randomHex(16), sampled);
+    }
+
+    /**
+     * Null if the header is missing or malformed
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55) {
+            return null;
+        }
+        String value = traceparent.trim();
+        if (value.length() < 55 || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || value.startsWith("ff")) {
+            return null;
+        }
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isHex(traceId) || !isHex(spanId) || !isHex(flags) || isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(flags, 16) & 1) == 1;
+        return new TraceContext(traceId, spanId, sampled);
+    }
+
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomHex(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder hex = new StringBuilder(length);
+        while (hex.length() < length) {
+            String part = Long.toHexString(random.nextLong());
+            for (int i = part.length(); i < 16 && hex.length() < length; i++) {
+                hex.append('0');
+            }
+            hex.append(part, 0, Math.min(part.length(), length - hex.length()));
+        }
+        return isZero(hex.toString()) ? randomHex(length) : hex.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package jante.trace;
+
+import org.slf4j.MDC;
+
+/**
+ * Starts spans and keeps the current span of each thread. Root spans, and children of remote parents, are exported
+ * to the exporter given by the caller, normally the one of the TracingAddon of the service. Children of the current
+ * span go to the exporter of their parent, so services in the same JVM keep their spans apart.
+ * Without an exporter no spans are created, so the filters calling this cost next to nothing when tracing is off.
+ * <p>
+ * The trace id of the current span is put in MDC as traceId, and can be logged with %X{traceId} in logback.xml.
+ */
+public class Tracing {
+    public static final String MDC_TRACE_ID = "traceId";
+
+    private static final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+    public static Span currentSpan() {
+        return currentSpan.get();
+    }
+
+    /**
+     * Child of the current span of this thread. Null when there is no current span.
+     * The span does not become the current span; use activate for that.
+     */
+    public static Span startSpan(String name, Span.Kind kind) {
+        return startSpan(name, kind, null);
+    }
+
+    /**
+     * Child of the current span of this thread, or the root of a new trace exported to the exporter.
+     * Null when there is neither a current span nor an exporter.
+     */
+    public static Span startSpan(String name, Span.Kind kind, SpanExporter exporter) {
+        Span parent = currentSpan.get();
+        return parent != null
+                ? new Span(name, kind, parent.context.child(), parent.context.spanId, parent.exporter)
+                : startSpan(name, kind, null, exporter);
+    }
+
+    /**
+     * Child of the remote parent, e.g. from a traceparent header, or the root of a new trace when the parent is null.
+     * Null when the exporter is null.
+     */
+    public static Span startSpan(String name, Span.Kind kind, TraceContext parent, SpanExporter exporter) {
+        if (exporter == null) {
+            return null;
+        }
+        return parent != null
+                ? new Span(name, kind, parent.child(), parent.spanId, exporter)
+                : new Span(name, kind, TraceContext.root(), null, exporter);
+    }
+
+    /**
+     * Makes the span current on this thread. Close the scope, in the same thread, to restore the previous span.
+     */
+    public static Scope activate(Span span) {
+        Span previous = currentSpan.get();
+        String previousTraceId = MDC.get(MDC_TRACE_ID);
+        currentSpan.set(span);
+        MDC.put(MDC_TRACE_ID, span.context.traceId);
+        return () -> {
+            if (previous != null) {
+                currentSpan.set(previous);
+            } else {
+                currentSpan.remove();
+            }
+            if (previousTraceId != null) {
+                MDC.put(MDC_TRACE_ID, previousTraceId);
+            } else {
+                MDC.remove(MDC_TRACE_ID);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
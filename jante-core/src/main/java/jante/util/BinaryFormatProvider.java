@@ -0,0 +1,126 @@
+package jante.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jante.model.SerializationSpec;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Reads and writes Smile or CBOR with the shared mapper for the spec. Registered for the option BINARY_FORMATS
+ * by JerseyConfig and ClientGenerator. Entities that are already serialized, like String and byte[], are left
+ * to the standard providers.
+ */
+public abstract class BinaryFormatProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE_TYPE = MediaType.valueOf(APPLICATION_SMILE);
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+
+    private static final MapperRegistry smileMappers = new MapperRegistry(spec -> JsonUtil.createObjectMapper(
+            new SmileFactory()
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+            spec
+    ));
+    private static final MapperRegistry cborMappers = new MapperRegistry(spec -> JsonUtil.createObjectMapper(
+            new CBORFactory()
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+            spec
+    ));
+
+    private final MediaType mediaType;
+    private final ObjectMapper mapper;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    private BinaryFormatProvider(MediaType mediaType, MapperRegistry mappers, SerializationSpec serializationSpec) {
+        this.mediaType = mediaType;
+        this.mapper = mappers.mapper(serializationSpec);
+        this.reader = mappers.reader(serializationSpec);
+        this.writer = mappers.writer(serializationSpec);
+    }
+
+    public static boolean isBinaryFormat(MediaType mediaType) {
+        return mediaType != null
+                && (APPLICATION_SMILE_TYPE.isCompatible(mediaType) || APPLICATION_CBOR_TYPE.isCompatible(mediaType))
+                && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype();
+    }
+
+    static boolean isSerialized(Class<?> type) {
+        return type == String.class || type == byte[].class
+                || InputStream.class.isAssignableFrom(type) || Reader.class.isAssignableFrom(type)
+                || StreamingOutput.class.isAssignableFrom(type) || Response.class.isAssignableFrom(type);
+    }
+
+    private boolean handles(Class<?> type, MediaType requested) {
+        return requested != null && mediaType.isCompatible(requested) && !requested.isWildcardType() && !isSerialized(type);
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return handles(type, mediaType);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        return reader.forType(javaType(type, genericType)).readValue(entityStream);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return handles(type, mediaType);
+    }
+
+    @Override
+    public long getSize(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        writer.writeValue(entityStream, value);
+    }
+
+    private JavaType javaType(Class<?> type, Type genericType) {
+        return mapper.getTypeFactory().constructType(genericType != null ? genericType : type);
+    }
+
+    @Consumes(APPLICATION_SMILE)
+    @Produces(APPLICATION_SMILE)
+    public static class Smile extends BinaryFormatProvider {
+        public Smile(SerializationSpec serializationSpec) {
+            super(APPLICATION_SMILE_TYPE, smileMappers, serializationSpec);
+        }
+    }
+
+    @Consumes(APPLICATION_CBOR)
+    @Produces(APPLICATION_CBOR)
+    public static class Cbor extends BinaryFormatProvider {
+        public Cbor(SerializationSpec serializationSpec) {
+            super(APPLICATION_CBOR_TYPE, cborMappers, serializationSpec);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package jante.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterInjector;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterModifier;
+import jante.model.SerializationSpec;
+import lombok.AllArgsConstructor;
+import lombok.experimental.Delegate;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Writes and reads a Stream as a json array, one element at a time, so large listings are never held in memory.
+ * Registered by JerseyConfig and ClientGenerator.
+ * <p>
+ * The server writes with the shared mapper for the spec, flushes every FLUSH_INTERVAL elements and closes the stream
+ * when done, so resources may return streams holding resources such as database cursors.
+ * Clients get a lazy stream that parses elements as they are consumed. It holds the connection until it is
+ * consumed to the end or closed, so use it in try-with-resources.
+ */
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class JsonStreamProvider implements MessageBodyReader<Stream<?>>, MessageBodyWriter<Stream<?>> {
+    static final int FLUSH_INTERVAL = 100;
+
+    private final ObjectMapper mapper;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public JsonStreamProvider(SerializationSpec serializationSpec) {
+        this.mapper = JsonUtil.objectMapper(serializationSpec);
+        this.reader = JsonUtil.reader(serializationSpec);
+        // Flushing is done per chunk of elements, not per element
+        this.writer = JsonUtil.writer(serializationSpec).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static boolean handles(Class<?> type, MediaType mediaType) {
+        return Stream.class.isAssignableFrom(type)
+                && mediaType != null && mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE) && !mediaType.isWildcardType();
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return handles(type, mediaType);
+    }
+
+    @Override
+    public long getSize(Stream<?> stream, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(Stream<?> stream, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        try (Stream<?> toClose = stream;
+             JsonGenerator generator = mapper.getFactory().createGenerator(entityStream, JsonEncoding.UTF8)) {
+            // The container closes the entity stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            ObjectWriter elementWriter = writer;
+            ObjectWriterModifier modifier = ObjectWriterInjector.getAndClear();
+            if (modifier != null) {
+                elementWriter = modifier.modify(null, httpHeaders, stream, elementWriter, generator);
+            }
+            generator.writeStartArray();
+            Iterator<?> elements = stream.iterator();
+            int written = 0;
+            while (elements.hasNext()) {
+                elementWriter.writeValue(generator, elements.next());
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return handles(type, mediaType);
+    }
+
+    @Override
+    public Stream<?> readFrom(Class<Stream<?>> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                              MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(entityStream);
+        try {
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a json array, got " + first);
+            }
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+        ObjectReader elementReader = reader.forType(mapper.getTypeFactory().constructType(elementType(genericType)));
+        Stream<Object> elements = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new ElementIterator(parser, elementReader), Spliterator.ORDERED), false
+        ).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return new CloseableStream<>(elements);
+    }
+
+    private static Type elementType(Type genericType) {
+        return genericType instanceof ParameterizedType
+                ? ((ParameterizedType) genericType).getActualTypeArguments()[0]
+                : Object.class;
+    }
+
+    /**
+     * Reads one element ahead in hasNext. The parser auto closes the entity stream, at the end of the array
+     * or when the stream is closed.
+     */
+    private static class ElementIterator implements Iterator<Object> {
+        final JsonParser parser;
+        final ObjectReader elementReader;
+        boolean positioned;
+        boolean done;
+
+        ElementIterator(JsonParser parser, ObjectReader elementReader) {
+            this.parser = parser;
+            this.elementReader = elementReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!positioned && !done) {
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        done = true;
+                        parser.close();
+                    } else {
+                        positioned = true;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return !done;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            positioned = false;
+            try {
+                return elementReader.readValue(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Jersey closes the entity stream after reading unless the entity is Closeable.
+     * Lombok delegates the methods of Stream, but not the generic ones of BaseStream.
+     */
+    @AllArgsConstructor
+    private static class CloseableStream<T> implements Stream<T>, Closeable {
+        @Delegate
+        private final Stream<T> stream;
+
+        @Override
+        public Iterator<T> iterator() {
+            return stream.iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return stream.spliterator();
+        }
+
+        @Override
+        public boolean isParallel() {
+            return stream.isParallel();
+        }
+
+        @Override
+        public Stream<T> sequential() {
+            return stream.sequential();
+        }
+
+        @Override
+        public Stream<T> parallel() {
+            return stream.parallel();
+        }
+
+        @Override
+        public Stream<T> unordered() {
+            return stream.unordered();
+        }
+
+        @Override
+        public Stream<T> onClose(Runnable closeHandler) {
+            return stream.onClose(closeHandler);
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+}
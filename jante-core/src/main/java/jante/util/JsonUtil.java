@@ -1,11 +1,15 @@
 package jante.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import jante.model.SerializationSpec;
 import lombok.extern.slf4j.Slf4j;
 import jante.model.SerializationSpec;
@@ -14,8 +18,35 @@ import static jante.model.SerializationSpec.*;
 
 @Slf4j
 public final class JsonUtil {
+    private static final MapperRegistry registry = new MapperRegistry(JsonUtil::createObjectMapper);
+
+    /**
+     * Shared mapper for the spec, see MapperRegistry. Must not be reconfigured.
+     */
+    public static ObjectMapper objectMapper(SerializationSpec serializationSpec) {
+        return registry.mapper(serializationSpec);
+    }
+
+    public static ObjectReader reader(SerializationSpec serializationSpec) {
+        return registry.reader(serializationSpec);
+    }
+
+    public static ObjectWriter writer(SerializationSpec serializationSpec) {
+        return registry.writer(serializationSpec);
+    }
+
+    /**
+     * New mapper, for callers that configure it further
+     */
     public static ObjectMapper createObjectMapper(SerializationSpec serializationSpec) {
-        ObjectMapper underConstruction = new ObjectMapper()
+        return createObjectMapper(new JsonFactory(), serializationSpec);
+    }
+
+    /**
+     * New mapper for the data format of the factory, e.g. SmileFactory
+     */
+    public static ObjectMapper createObjectMapper(JsonFactory jsonFactory, SerializationSpec serializationSpec) {
+        ObjectMapper underConstruction = new ObjectMapper(jsonFactory)
                 .registerModule(new JavaTimeModule())
                 .registerModule(new Jdk8Module());
         for (String option : serializationSpec.getOptions()) {
@@ -23,6 +54,12 @@ public final class JsonUtil {
                 case SerializationSpec.PRETTY_PRINT:
                     underConstruction = underConstruction.enable(SerializationFeature.INDENT_OUTPUT);
                     break;
+                case SerializationSpec.PRETTY_PRINT_ON_REQUEST:
+                    // Handled per request by PrettyPrintInterceptor
+                    break;
+                case SerializationSpec.BINARY_FORMATS:
+                    // Handled by JerseyConfig and ClientGenerator
+                    break;
                 case SerializationSpec.TOLERATE_UNRECOGNIZED_FIELDS:
                     underConstruction = underConstruction.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
                     break;
@@ -35,6 +72,9 @@ public final class JsonUtil {
                 case SerializationSpec.GUAVA_TYPES:
                     underConstruction = underConstruction.registerModule(new GuavaModule());
                     break;
+                case SerializationSpec.BYTECODE_ACCESSORS:
+                    underConstruction = underConstruction.registerModule(new AfterburnerModule());
+                    break;
                 default:
                     log.warn("Unhandled json option: " + option);
                     break;
@@ -1,10 +1,24 @@
 package jante.util;
 
-import jante.model.LogLevel;
 import jante.model.LogLevel;
 import org.slf4j.Logger;
 
 public class LogUtil {
+    public static boolean isEnabled(LogLevel logLevel, Logger logger) {
+        switch (logLevel) {
+            case WARN:
+                return logger.isWarnEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case TRACE:
+                return logger.isTraceEnabled();
+            default:
+                return logger.isErrorEnabled();
+        }
+    }
+
     public static void doLog(String s, LogLevel logLevel, Logger logger) {
         switch (logLevel) {
             case ERROR: {
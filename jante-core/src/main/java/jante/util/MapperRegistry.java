@@ -0,0 +1,57 @@
+package jante.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jante.model.SerializationSpec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * One ObjectMapper per SerializationSpec, created on first use and shared, so serializers and deserializers
+ * are looked up once per type and spec instead of once per mapper. Specs with the same options share a mapper.
+ * <p>
+ * Shared mappers must not be reconfigured. Prefer the reader and writer, which are immutable;
+ * use createObjectMapper in JsonUtil or XmlUtil for a mapper of your own.
+ */
+public final class MapperRegistry {
+    private final Function<SerializationSpec, ObjectMapper> mapperFactory;
+    private final Map<SerializationSpec, Mappers> mappers = new ConcurrentHashMap<>();
+
+    public MapperRegistry(Function<SerializationSpec, ObjectMapper> mapperFactory) {
+        this.mapperFactory = mapperFactory;
+    }
+
+    public ObjectMapper mapper(SerializationSpec serializationSpec) {
+        return mappers(serializationSpec).mapper;
+    }
+
+    public ObjectReader reader(SerializationSpec serializationSpec) {
+        return mappers(serializationSpec).reader;
+    }
+
+    public ObjectWriter writer(SerializationSpec serializationSpec) {
+        return mappers(serializationSpec).writer;
+    }
+
+    private Mappers mappers(SerializationSpec serializationSpec) {
+        Mappers ret = mappers.get(serializationSpec);
+        return ret != null
+                ? ret
+                : mappers.computeIfAbsent(serializationSpec, spec -> new Mappers(mapperFactory.apply(spec)));
+    }
+
+    private static class Mappers {
+        final ObjectMapper mapper;
+        final ObjectReader reader;
+        final ObjectWriter writer;
+
+        Mappers(ObjectMapper mapper) {
+            this.mapper = mapper;
+            this.reader = mapper.reader();
+            this.writer = mapper.writer();
+        }
+    }
+}
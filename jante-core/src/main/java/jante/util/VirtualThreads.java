@@ -0,0 +1,30 @@
+package jante.util;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads without compiling against a JDK that has them. On JVMs without
+ * virtual threads (before Java 21) nothing is returned, and callers fall back to platform threads.
+ */
+public class VirtualThreads {
+
+    public static boolean isSupported() {
+        return factoryMethod().isPresent();
+    }
+
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        return factoryMethod()
+                .map(method -> ExceptionUtil.wrapCheckedExceptions(() -> (ExecutorService) method.invoke(null)));
+    }
+
+    private static Optional<Method> factoryMethod() {
+        try {
+            return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+        } catch (NoSuchMethodException ex) {
+            return Optional.empty();
+        }
+    }
+}
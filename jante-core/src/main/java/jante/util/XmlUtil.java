@@ -2,12 +2,15 @@ package jante.util;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.xml.JacksonXmlModule;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import jante.model.SerializationSpec;
 import lombok.extern.slf4j.Slf4j;
 import jante.model.SerializationSpec;
@@ -17,6 +20,26 @@ import static jante.model.SerializationSpec.*;
 
 @Slf4j
 public final class XmlUtil {
+    private static final MapperRegistry registry = new MapperRegistry(XmlUtil::createObjectMapper);
+
+    /**
+     * Shared mapper for the spec, see MapperRegistry. Must not be reconfigured.
+     */
+    public static ObjectMapper objectMapper(SerializationSpec serializationSpec) {
+        return registry.mapper(serializationSpec);
+    }
+
+    public static ObjectReader reader(SerializationSpec serializationSpec) {
+        return registry.reader(serializationSpec);
+    }
+
+    public static ObjectWriter writer(SerializationSpec serializationSpec) {
+        return registry.writer(serializationSpec);
+    }
+
+    /**
+     * New mapper, for callers that configure it further
+     */
     public static ObjectMapper createObjectMapper(SerializationSpec xmlConfig) {
         JacksonXmlModule
                 module = new JacksonXmlModule();
@@ -29,6 +52,10 @@ public final class XmlUtil {
                 case SerializationSpec.PRETTY_PRINT:
                     underConstruction = underConstruction.enable(SerializationFeature.INDENT_OUTPUT);
                     break;
+                case SerializationSpec.PRETTY_PRINT_ON_REQUEST:
+                case SerializationSpec.BINARY_FORMATS:
+                    // Handled by jersey providers and filters, not the mapper
+                    break;
                 case SerializationSpec.TOLERATE_UNRECOGNIZED_FIELDS:
                     underConstruction = underConstruction.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
                     break;
@@ -41,6 +68,9 @@ public final class XmlUtil {
                 case SerializationSpec.GUAVA_TYPES:
                     underConstruction = underConstruction.registerModule(new GuavaModule());
                     break;
+                case SerializationSpec.BYTECODE_ACCESSORS:
+                    underConstruction = underConstruction.registerModule(new AfterburnerModule());
+                    break;
                 default:
                     log.warn("Unhandled json option: " + option);
                     break;
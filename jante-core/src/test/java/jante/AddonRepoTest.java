@@ -0,0 +1,88 @@
+package jante;
+
+import com.google.common.collect.ImmutableList;
+import jante.addon.NamedAddon;
+import jante.model.Addon;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AddonRepoTest {
+
+    interface Marker extends Addon {
+    }
+
+    static class Plain implements Addon {
+    }
+
+    static class Marked implements Marker {
+    }
+
+    static class Named implements NamedAddon {
+        final String name;
+
+        Named(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Test
+    public void finds_addons_by_class_and_supertype() {
+        Plain plain = new Plain();
+        Marked marked = new Marked();
+        AddonRepo repo = new AddonRepo(ImmutableList.of(plain, marked));
+
+        assertThat(repo.addonInstance(Plain.class)).isSameAs(plain);
+        assertThat(repo.addonInstance(Marker.class)).isSameAs(marked);
+        assertThat(repo.addonInstances(Addon.class)).containsExactly(plain, marked);
+        assertThat(repo.addonInstance(Named.class)).isNull();
+        assertThat(catchThrowable(() -> repo.addonInstance(Addon.class))).hasMessageContaining("several");
+    }
+
+    @Test
+    public void finds_named_addons() {
+        Named unnamed = new Named(null);
+        Named first = new Named("first");
+        AddonRepo repo = new AddonRepo(ImmutableList.of(unnamed, first));
+
+        assertThat(repo.addonInstanceNamed(Named.class, null)).isSameAs(unnamed);
+        assertThat(repo.addonInstanceNamed(NamedAddon.class, "first")).isSameAs(first);
+        assertThat(repo.addonInstanceNamed(Named.class, "second")).isNull();
+    }
+
+    @Test
+    public void plus_leaves_original_unchanged() {
+        Plain plain = new Plain();
+        Marked marked = new Marked();
+        AddonRepo original = new AddonRepo(ImmutableList.of(plain));
+
+        AddonRepo extended = original.plus(marked);
+
+        assertThat(original.addonInstances(Addon.class)).containsExactly(plain);
+        assertThat(extended.addonInstances(Addon.class)).containsExactly(plain, marked);
+        assertThat(extended.addons).containsExactly(plain, marked);
+    }
+
+    @Test
+    public void builder_view_sees_added_addons_and_build_freezes() {
+        Plain plain = new Plain();
+        Marked marked = new Marked();
+        AddonRepo.Builder builder = AddonRepo.builder().add(plain);
+        AddonRepo view = builder.view();
+
+        assertThat(view.addonInstances(Addon.class)).containsExactly(plain);
+        AddonRepo frozen = builder.build();
+        builder.add(marked);
+
+        assertThat(view.addonInstance(Marker.class)).isSameAs(marked);
+        assertThat(view.addons).containsExactly(plain, marked);
+        assertThat(frozen.addonInstance(Marker.class)).isNull();
+        assertThat(frozen.addons).containsExactly(plain);
+    }
+}
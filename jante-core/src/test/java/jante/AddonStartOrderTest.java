@@ -15,6 +15,7 @@ import java.util.Set;
 import static jante.ServiceConfig.serviceConfig;
 import static jante.config.PropertyMap.propertyMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 public class AddonStartOrderTest {
 
@@ -148,5 +149,124 @@ public class AddonStartOrderTest {
 
         assertThat(startOrder).isEqualTo(Lists.newArrayList(1, 2, 3));
     }
-}
 
+    @Test
+    public void dependencies_are_transitive() {
+        //Given
+        final List<Integer> startOrder = Lists.newArrayList();
+
+        class Dependee implements Addon {
+            @Override
+            public Addon initialize(ServiceConfig.Runtime config) {
+                startOrder.add(1);
+                return this;
+            }
+        }
+        class Immediate implements Addon {
+            @Override
+            public Addon initialize(ServiceConfig.Runtime config) {
+                startOrder.add(2);
+                return this;
+            }
+
+            @Override
+            public Set<Class<?>> initializeAfter() {
+                return ImmutableSet.of(Dependee.class);
+            }
+        }
+        class Dependent implements Addon {
+            @Override
+            public Addon initialize(ServiceConfig.Runtime config) {
+                startOrder.add(3);
+                return this;
+            }
+
+            @Override
+            public Set<Class<?>> initializeAfter() {
+                return ImmutableSet.of(Immediate.class);
+            }
+        }
+
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new Dependent())
+                .addon(new Immediate())
+                .addon(new Dependee());
+
+        //When
+        config.applyProperties(propertyMap);
+
+        assertThat(startOrder).isEqualTo(Lists.newArrayList(1, 2, 3));
+    }
+
+    interface Marker extends Addon {
+    }
+
+    @Test
+    public void dependencies_on_interfaces_match_implementations() {
+        //Given
+        final List<Integer> startOrder = Lists.newArrayList();
+
+        class Implementation implements Marker {
+            @Override
+            public Addon initialize(ServiceConfig.Runtime config) {
+                startOrder.add(1);
+                return this;
+            }
+        }
+        class Dependent implements Addon {
+            @Override
+            public Addon initialize(ServiceConfig.Runtime config) {
+                startOrder.add(2);
+                return this;
+            }
+
+            @Override
+            public Set<Class<?>> initializeAfter() {
+                return ImmutableSet.of(Marker.class);
+            }
+        }
+
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new Dependent())
+                .addon(new Implementation());
+
+        //When
+        config.applyProperties(propertyMap);
+
+        assertThat(startOrder).isEqualTo(Lists.newArrayList(1, 2));
+    }
+
+    static class LoopA implements Addon {
+        @Override
+        public Set<Class<?>> initializeAfter() {
+            return ImmutableSet.of(LoopB.class);
+        }
+    }
+
+    static class LoopB implements Addon {
+        @Override
+        public Set<Class<?>> initializeAfter() {
+            return ImmutableSet.of(LoopA.class);
+        }
+    }
+
+    static class AfterLoop implements Addon {
+        @Override
+        public Set<Class<?>> initializeAfter() {
+            return ImmutableSet.of(LoopA.class);
+        }
+    }
+
+    @Test
+    public void dependency_loop_is_reported_with_path() {
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new AfterLoop())
+                .addon(new LoopA())
+                .addon(new LoopB());
+
+        Throwable thrown = catchThrowable(config::validateAddonDependencies);
+
+        assertThat(thrown).hasMessage("Dependency loop in addons: "
+                + LoopA.class.getName() + " -> " + LoopB.class.getName() + " -> " + LoopA.class.getName());
+    }
+}
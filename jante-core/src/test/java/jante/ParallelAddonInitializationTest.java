@@ -0,0 +1,127 @@
+package jante;
+
+import com.google.common.collect.ImmutableSet;
+import jante.exception.AddonInitializationException;
+import jante.model.Addon;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static jante.AddonStartOrderTest.serviceDefinition;
+import static jante.ServiceConfig.serviceConfig;
+import static jante.config.PropertyMap.propertyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParallelAddonInitializationTest {
+
+    static class Independent implements Addon {
+        final CountDownLatch bothStarted;
+
+        Independent(CountDownLatch bothStarted) {
+            this.bothStarted = bothStarted;
+        }
+
+        @Override
+        public Addon initialize(ServiceConfig.Runtime config) {
+            bothStarted.countDown();
+            try {
+                assertThat(bothStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return this;
+        }
+    }
+
+    static class Dependent implements Addon {
+        final boolean sawIndependent;
+
+        Dependent(boolean sawIndependent) {
+            this.sawIndependent = sawIndependent;
+        }
+
+        @Override
+        public Addon initialize(ServiceConfig.Runtime config) {
+            return new Dependent(config.addons.addonInstances(Independent.class).size() == 2);
+        }
+
+        @Override
+        public Set<Class<?>> initializeAfter() {
+            return ImmutableSet.of(Independent.class);
+        }
+    }
+
+    static class Failing implements Addon {
+        @Override
+        public Addon initialize(ServiceConfig.Runtime config) {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    static class AlsoFailing implements Addon {
+        @Override
+        public Addon initialize(ServiceConfig.Runtime config) {
+            throw new IllegalArgumentException("also failing");
+        }
+    }
+
+    @Test
+    public void independent_addons_are_initialized_concurrently_in_config_order() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Independent first = new Independent(bothStarted);
+        Independent second = new Independent(bothStarted);
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new Dependent(false))
+                .addon(first)
+                .addon(second)
+                .initializationThreads(2);
+
+        ServiceConfig.Runtime runtime = config.applyProperties(propertyMap);
+
+        assertThat(runtime.addons.addons).element(0).isSameAs(first);
+        assertThat(runtime.addons.addons).element(1).isSameAs(second);
+        assertThat(runtime.addons.requireAddonInstance(Dependent.class).sawIndependent).isTrue();
+    }
+
+    @Test
+    public void property_overrides_initialization_threads() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new Independent(bothStarted))
+                .addon(new Independent(bothStarted));
+
+        ServiceConfig.Runtime runtime = config.applyProperties(propertyMap.put(ServiceConfig.CONFIG_KEY_INITIALIZATION_THREADS, "2"));
+
+        assertThat(runtime.addons.addonInstances(Independent.class)).hasSize(2);
+    }
+
+    @Test
+    public void single_failure_is_rethrown() {
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new Failing())
+                .addon(new Dependent(false))
+                .initializationThreads(2);
+
+        Throwable thrown = catchThrowable(() -> config.applyProperties(propertyMap));
+
+        assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessage("failing");
+    }
+
+    @Test
+    public void failures_in_a_layer_are_aggregated() {
+        ServiceConfig config = serviceConfig(serviceDefinition)
+                .addon(new Failing())
+                .addon(new AlsoFailing())
+                .initializationThreads(2);
+
+        Throwable thrown = catchThrowable(() -> config.applyProperties(propertyMap));
+
+        assertThat(thrown).isInstanceOf(AddonInitializationException.class);
+        assertThat(((AddonInitializationException) thrown).failedAddons)
+                .containsExactly(Failing.class, AlsoFailing.class);
+        assertThat(thrown.getSuppressed()).hasSize(2);
+    }
+}
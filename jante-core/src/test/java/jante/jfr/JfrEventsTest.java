@@ -0,0 +1,35 @@
+package jante.jfr;
+
+import com.google.common.io.ByteStreams;
+import jante.client.JfrClientFilter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrEventsTest {
+
+    @Test
+    public void events_are_disabled_outside_recordings() {
+        assertThat(JfrEvents.isAvailable()).isTrue();
+        assertThat(JfrEvents.clientCallEnabled()).isFalse();
+        assertThat(JfrEvents.serverRequestEnabled()).isFalse();
+    }
+
+    @Test
+    public void callers_do_not_reference_event_classes() throws IOException {
+        String constants = classFile(JfrClientFilter.class);
+
+        assertThat(constants).contains("jante/jfr/JfrEvents");
+        assertThat(constants).doesNotContain("jante/jfr/ClientCallEvent").doesNotContain("jdk/jfr");
+    }
+
+    private static String classFile(Class<?> type) throws IOException {
+        try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            return new String(ByteStreams.toByteArray(in), StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package jante.trace;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceContextTest {
+
+    @Test
+    public void parses_traceparent() {
+        TraceContext context = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertThat(context.traceId).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.spanId).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.sampled).isTrue();
+        assertThat(context.toTraceparent()).isEqualTo("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    }
+
+    @Test
+    public void rejects_malformed_traceparent() {
+        assertThat(TraceContext.parse(null)).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7")).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+    }
+
+    @Test
+    public void child_keeps_trace_and_gets_new_span_id() {
+        TraceContext root = TraceContext.root();
+        TraceContext child = root.child();
+
+        assertThat(root.traceId).hasSize(32);
+        assertThat(root.spanId).hasSize(16);
+        assertThat(child.traceId).isEqualTo(root.traceId);
+        assertThat(child.spanId).hasSize(16).isNotEqualTo(root.spanId);
+        assertThat(TraceContext.parse(child.toTraceparent())).isEqualTo(child);
+    }
+}
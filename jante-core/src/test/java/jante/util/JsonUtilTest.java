@@ -0,0 +1,65 @@
+package jante.util;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import jante.model.SerializationSpec;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+import static jante.model.SerializationSpec.BYTECODE_ACCESSORS;
+import static jante.model.SerializationSpec.ISO_DATES;
+import static jante.model.SerializationSpec.PRETTY_PRINT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonUtilTest {
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Payload {
+        String string;
+        LocalDate date;
+    }
+
+    @Test
+    public void specs_with_same_options_share_mapper() {
+        SerializationSpec spec = SerializationSpec.create(PRETTY_PRINT, ISO_DATES);
+        SerializationSpec sameOptions = SerializationSpec.create(ISO_DATES, PRETTY_PRINT);
+
+        assertThat(sameOptions).isEqualTo(spec);
+        assertThat(JsonUtil.objectMapper(sameOptions)).isSameAs(JsonUtil.objectMapper(spec));
+        assertThat(JsonUtil.writer(sameOptions)).isSameAs(JsonUtil.writer(spec));
+        assertThat(JsonUtil.reader(sameOptions)).isSameAs(JsonUtil.reader(spec));
+    }
+
+    @Test
+    public void different_specs_and_created_mappers_are_not_shared() {
+        SerializationSpec spec = SerializationSpec.create(PRETTY_PRINT);
+
+        assertThat(JsonUtil.objectMapper(SerializationSpec.create(ISO_DATES))).isNotSameAs(JsonUtil.objectMapper(spec));
+        assertThat(JsonUtil.createObjectMapper(spec)).isNotSameAs(JsonUtil.objectMapper(spec));
+        assertThat(XmlUtil.objectMapper(spec)).isNotSameAs(JsonUtil.objectMapper(spec));
+    }
+
+    @Test
+    public void bytecode_accessors_replace_reflection() throws IOException {
+        ObjectMapper mapper = JsonUtil.objectMapper(SerializationSpec.create(ISO_DATES, BYTECODE_ACCESSORS));
+        Payload payload = new Payload("string", LocalDate.of(2018, 1, 1));
+
+        assertThat(propertyWriterPackage(mapper)).contains("afterburner");
+        assertThat(propertyWriterPackage(JsonUtil.objectMapper(SerializationSpec.create(ISO_DATES)))).doesNotContain("afterburner");
+        assertThat(mapper.readValue(mapper.writeValueAsBytes(payload), Payload.class)).isEqualTo(payload);
+    }
+
+    private static String propertyWriterPackage(ObjectMapper mapper) throws JsonMappingException {
+        BeanSerializerBase serializer = (BeanSerializerBase) mapper.getSerializerProviderInstance().findValueSerializer(Payload.class);
+        Iterator<?> properties = serializer.properties();
+        return properties.next().getClass().getPackage().getName();
+    }
+}
@@ -9,12 +9,17 @@ import lombok.experimental.Wither;
 import jante.Injections;
 import jante.ServiceConfig;
 import jante.exception.DependenceException;
+import jante.jfr.JfrEvent;
+import jante.jfr.JfrEvents;
 import jante.model.Addon;
 import jante.util.GuavaHelper;
 import org.glassfish.hk2.api.Factory;
 import org.skife.jdbi.v2.DBI;
+import org.skife.jdbi.v2.StatementContext;
+import org.skife.jdbi.v2.TimingCollector;
 
 import javax.sql.DataSource;
+import java.lang.reflect.Method;
 import java.util.Set;
 
 import static jante.Injections.injections;
@@ -45,6 +50,7 @@ public class JdbiAddon implements NamedAddon {
         }
         DataSource dataSource = dataSourceAddon.getDataSource();
         DBI dbi = new DBI(dataSource);
+        dbi.setTimingCollector(new JfrTimingCollector());
         return this.dbi(dbi);
     }
 
@@ -85,6 +91,25 @@ public class JdbiAddon implements NamedAddon {
         }
     }
 
+    /**
+     * Records a DbQueryEvent for each statement while a flight recording has it enabled
+     */
+    public static class JfrTimingCollector implements TimingCollector {
+
+        @Override
+        public void collect(long elapsedTime, StatementContext ctx) {
+            if (!JfrEvents.dbQueryEnabled()) {
+                return;
+            }
+            JfrEvent event = JfrEvents.newDbQuery();
+            if (event.shouldCommit()) {
+                Method method = ctx.getSqlObjectMethod();
+                String operation = method == null ? "jdbi" : ctx.getSqlObjectType().getSimpleName() + "." + method.getName();
+                JfrEvents.commitDbQuery(event, operation, ctx.getRawSql(), elapsedTime);
+            }
+        }
+    }
+
     public <T> T createDao(Class<T> requiredType) {
         return dbi.onDemand(requiredType);
     }
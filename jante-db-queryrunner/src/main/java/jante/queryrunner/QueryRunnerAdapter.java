@@ -1,5 +1,7 @@
 package jante.queryrunner;
 
+import jante.jfr.JfrEvent;
+import jante.jfr.JfrEvents;
 import lombok.AllArgsConstructor;
 import org.apache.commons.dbutils.QueryRunner;
 import org.apache.commons.dbutils.ResultSetHandler;
@@ -21,95 +23,112 @@ public class QueryRunnerAdapter {
 
 
     public int[] batch(Connection conn, String sql, Object[][] params) {
-        return wrap(() -> queryRunner.batch(conn, sql, params));
+        return wrap("batch", sql, () -> queryRunner.batch(conn, sql, params));
     }
 
     public int[] batch(String sql, Object[][] params) {
-        return wrap(() -> queryRunner.batch(sql, params));
+        return wrap("batch", sql, () -> queryRunner.batch(sql, params));
     }
 
     @Deprecated
     public <T> T query(Connection conn, String sql, Object param, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.query(conn, sql, param, rsh));
+        return wrap("query", sql, () -> queryRunner.query(conn, sql, param, rsh));
     }
 
     @Deprecated
     public <T> T query(Connection conn, String sql, Object[] params, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.query(conn, sql, params, rsh));
+        return wrap("query", sql, () -> queryRunner.query(conn, sql, params, rsh));
     }
 
     public <T> T query(Connection conn, String sql, ResultSetHandler<T> rsh, Object... params) {
-        return wrap(() -> queryRunner.query(conn, sql, rsh, params));
+        return wrap("query", sql, () -> queryRunner.query(conn, sql, rsh, params));
     }
 
     public <T> T query(Connection conn, String sql, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.query(conn, sql, rsh));
+        return wrap("query", sql, () -> queryRunner.query(conn, sql, rsh));
     }
 
     @Deprecated
     public <T> T query(String sql, Object param, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.query(sql, param, rsh));
+        return wrap("query", sql, () -> queryRunner.query(sql, param, rsh));
     }
 
     @Deprecated
     public <T> T query(String sql, Object[] params, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.query(sql, params, rsh));
+        return wrap("query", sql, () -> queryRunner.query(sql, params, rsh));
     }
 
     public <T> T query(String sql, ResultSetHandler<T> rsh, Object... params) {
-        return wrap(() -> queryRunner.query(sql, rsh, params));
+        return wrap("query", sql, () -> queryRunner.query(sql, rsh, params));
     }
 
     public <T> T query(String sql, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.query(sql, rsh));
+        return wrap("query", sql, () -> queryRunner.query(sql, rsh));
     }
 
     public int update(Connection conn, String sql) {
-        return wrap(() -> queryRunner.update(conn, sql));
+        return wrap("update", sql, () -> queryRunner.update(conn, sql));
     }
 
     public int update(Connection conn, String sql, Object param) {
-        return wrap(() -> queryRunner.update(conn, sql, param));
+        return wrap("update", sql, () -> queryRunner.update(conn, sql, param));
     }
 
     public int update(Connection conn, String sql, Object... params) {
-        return wrap(() -> queryRunner.update(conn, sql, params));
+        return wrap("update", sql, () -> queryRunner.update(conn, sql, params));
     }
 
     public int update(String sql) {
-        return wrap(() -> queryRunner.update(sql));
+        return wrap("update", sql, () -> queryRunner.update(sql));
     }
 
     public int update(String sql, Object param) {
-        return wrap(() -> queryRunner.update(sql, param));
+        return wrap("update", sql, () -> queryRunner.update(sql, param));
     }
 
     public int update(String sql, Object... params) {
-        return wrap(() -> queryRunner.update(sql, params));
+        return wrap("update", sql, () -> queryRunner.update(sql, params));
     }
 
     public <T> T insert(String sql, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.insert(sql, rsh));
+        return wrap("insert", sql, () -> queryRunner.insert(sql, rsh));
     }
 
     public <T> T insert(String sql, ResultSetHandler<T> rsh, Object... params) {
-        return wrap(() -> queryRunner.insert(sql, rsh, params));
+        return wrap("insert", sql, () -> queryRunner.insert(sql, rsh, params));
     }
 
     public <T> T insert(Connection conn, String sql, ResultSetHandler<T> rsh) {
-        return wrap(() -> queryRunner.insert(conn, sql, rsh));
+        return wrap("insert", sql, () -> queryRunner.insert(conn, sql, rsh));
     }
 
     public <T> T insert(Connection conn, String sql, ResultSetHandler<T> rsh, Object... params) {
-        return wrap(() -> queryRunner.insert(conn, sql, rsh, params));
+        return wrap("insert", sql, () -> queryRunner.insert(conn, sql, rsh, params));
     }
 
     public <T> T insertBatch(String sql, ResultSetHandler<T> rsh, Object[][] params) {
-        return wrap(() -> queryRunner.insertBatch(sql, rsh, params));
+        return wrap("insertBatch", sql, () -> queryRunner.insertBatch(sql, rsh, params));
     }
 
     public <T> T insertBatch(Connection conn, String sql, ResultSetHandler<T> rsh, Object[][] params) {
-        return wrap(() -> queryRunner.insertBatch(conn, sql, rsh, params));
+        return wrap("insertBatch", sql, () -> queryRunner.insertBatch(conn, sql, rsh, params));
+    }
+
+    private <T> T wrap(String operation, String sql, Wrapped<T> fun) {
+        if (!JfrEvents.dbQueryEnabled()) {
+            return wrap(fun);
+        }
+        JfrEvent event = JfrEvents.newDbQuery();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return wrap(fun);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                JfrEvents.commitDbQuery(event, operation, sql, System.nanoTime() - start);
+            }
+        }
     }
 
     private <T> T wrap(Wrapped<T> fun) {
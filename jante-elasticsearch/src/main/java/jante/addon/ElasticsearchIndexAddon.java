@@ -123,7 +123,7 @@ public class ElasticsearchIndexAddon implements BetweenTestsAddon {
                 if (indexedType.getTypeName().equals(getIndexedTypeName(typeName))) {
                     Client client = indexAddon.elasticsearchAddon.getClient();
                     if (isMainTypeSearcher(typeName)) {
-                        ObjectMapper objectMapper = JsonUtil.createObjectMapper(indexAddon.serializationSpec);
+                        ObjectMapper objectMapper = JsonUtil.objectMapper(indexAddon.serializationSpec);
                         Searcher<?> constant = new Searcher<>(client, indexedType, indexAddon.indexname, objectMapper);
                         ServiceLocatorUtilities.addOneConstant(serviceLocator, constant, null, requiredType);
                     } else if (isMainTypeIndexer(typeName) && indexAddon.doIndexing) {
@@ -1,11 +1,13 @@
 package jante.es;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jante.addon.ElasticsearchIndexAddon;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import jante.addon.ElasticsearchIndexAddon;
+import jante.jfr.JfrEvent;
+import jante.jfr.JfrEvents;
 import jante.util.JsonUtil;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsResponse;
@@ -46,6 +48,23 @@ public class Indexer<T> {
     }
 
     public void index(String schema, List<T> rowTypes, Function<T, String> id) {
+        if (!JfrEvents.indexEnabled()) {
+            doIndex(schema, rowTypes, id);
+            return;
+        }
+        JfrEvent event = JfrEvents.newIndex();
+        event.begin();
+        try {
+            doIndex(schema, rowTypes, id);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                JfrEvents.commitIndex(event, indexAddon.indexname, rowTypes.size());
+            }
+        }
+    }
+
+    private void doIndex(String schema, List<T> rowTypes, Function<T, String> id) {
 
         int bulkSize = 2000;
         int bulkConcurrent = 5;
@@ -96,14 +115,14 @@ public class Indexer<T> {
     }
 
     private Map<String, String> transform(List<T> types, Function<T, String> idGetter) {
-        ObjectMapper objectMapper = JsonUtil.createObjectMapper(indexAddon.serializationSpec);
-        return types.stream().collect(Collectors.toMap(idGetter, transformToJson(objectMapper)));
+        ObjectWriter objectWriter = JsonUtil.writer(indexAddon.serializationSpec);
+        return types.stream().collect(Collectors.toMap(idGetter, transformToJson(objectWriter)));
     }
 
-    private Function<T, String> transformToJson(ObjectMapper objectMapper) {
+    private Function<T, String> transformToJson(ObjectWriter objectWriter) {
         return type -> {
             try {
-                return objectMapper.writeValueAsString(type);
+                return objectWriter.writeValueAsString(type);
             } catch (JsonProcessingException e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,28 @@
+package jante.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sampling of access log lines for a method. Values left at -1 keep the configured value.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LogSampling {
+    /**
+     * Log 1 in rate requests. Errors and slow requests are always logged.
+     */
+    int rate() default -1;
+
+    /**
+     * Always log responses slower than this. 0 turns it off.
+     */
+    long slowMillis() default -1;
+
+    /**
+     * Most sampled requests logged per second. 0 is unlimited.
+     */
+    int maxPerSecond() default -1;
+}
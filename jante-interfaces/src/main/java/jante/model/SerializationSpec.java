@@ -2,14 +2,33 @@ package jante.model;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Specs with the same options are equal, and share mappers in JsonUtil and XmlUtil
+ */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
 public class SerializationSpec {
     public static final String PRETTY_PRINT = "PRETTY_PRINT";
+    /**
+     * Compact json, pretty printed for requests with ?pretty or the header X-PRETTY-PRINT: true. Only used by the server.
+     */
+    public static final String PRETTY_PRINT_ON_REQUEST = "PRETTY_PRINT_ON_REQUEST";
+    /**
+     * Smile and CBOR responses, for clients asking for them. Clients made by ClientGenerator ask for Smile, and get json
+     * from services without the option.
+     */
+    public static final String BINARY_FORMATS = "BINARY_FORMATS";
+    /**
+     * Generated bytecode instead of reflection for getters, setters and fields, with the Afterburner module.
+     * Applies to every mapper made for the spec: server, clients and Elasticsearch.
+     */
+    public static final String BYTECODE_ACCESSORS = "BYTECODE_ACCESSORS";
     public static final String TOLERATE_UNRECOGNIZED_FIELDS = "TOLERATE_UNRECOGNIZED_FIELDS";
     public static final String TOLERATE_MISSING_FIELDS = "TOLERATE_MISSING_FIELDS";
     public static final String ISO_DATES = "ISO_DATES";
@@ -26,7 +45,7 @@ public class SerializationSpec {
     }
 
     public final static SerializationSpec standard = create(
-            PRETTY_PRINT,
+            PRETTY_PRINT_ON_REQUEST,
             TOLERATE_MISSING_FIELDS,
             TOLERATE_UNRECOGNIZED_FIELDS,
             ISO_DATES,
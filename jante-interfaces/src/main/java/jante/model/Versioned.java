@@ -0,0 +1,12 @@
+package jante.model;
+
+/**
+ * Entities that know their version, e.g. a revision column or last modified time. With ETagAddon the version is
+ * used as ETag instead of a hash of the serialized entity. Not a bean property, so it is not serialized.
+ */
+public interface Versioned {
+    /**
+     * Changes whenever the serialized entity changes
+     */
+    String entityVersion();
+}
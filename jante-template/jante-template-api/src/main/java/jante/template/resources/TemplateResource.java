@@ -8,6 +8,7 @@ import javax.validation.constraints.Min;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Api
 @Path("template")
@@ -17,6 +18,13 @@ public interface TemplateResource {
     @GET
     List<TemplateDto> getAllTemplates();
 
+    /**
+     * All templates, written and read one at a time. Close the stream when not consumed to the end.
+     */
+    @GET
+    @Path("stream")
+    Stream<TemplateDto> streamAllTemplates();
+
     @GET
     @Path("{id}")
     TemplateDto getTemplate(@Min(0) @PathParam("id") int id);
@@ -16,6 +16,7 @@ import static jante.config.PropertyMap.propertyFileFromJvmArgs;
 public class Main {
     public final static ServiceConfig commonConfig = Addons.standardAddons(TemplateDefinition.templateDefinition)
             .addon(webAppAddon)
+            .addon(Addons.etag())
             .inject(props -> injections
                     .bind(TemplateResourceImpl.class, TemplateResource.class)
             );
@@ -3,11 +3,14 @@ package jante.template.controllers;
 import jante.template.model.Template;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TemplateController {
 
     List<Template> getAll();
 
+    Stream<Template> streamAll();
+
     Template get(int id);
 
     Template create(Template payload);
@@ -11,6 +11,7 @@ import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 
@@ -64,6 +65,11 @@ public class TemplateControllerElasticsearch implements TemplateController {
 
     }
 
+    @Override
+    public Stream<Template> streamAll() {
+        return getAll().stream();
+    }
+
     @Override
     public Template get(int id) {
         List<Template> result = searcher.query(QueryBuilders.queryStringQuery(String.valueOf(id)).field("id"));
@@ -8,6 +8,7 @@ import javax.ws.rs.NotFoundException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public class TemplateControllerInMemory implements TemplateController {
     private int nextId = 1;
@@ -18,6 +19,11 @@ public class TemplateControllerInMemory implements TemplateController {
         return Lists.newArrayList(templates.values());
     }
 
+    @Override
+    public Stream<Template> streamAll() {
+        return getAll().stream();
+    }
+
     @Override
     public Template get(int id) {
         Template found = templates.get(id);
@@ -3,11 +3,16 @@ package jante.template.controllers;
 import jante.template.db.dao.TemplateDao;
 import jante.template.db.model.TemplateDb;
 import jante.template.model.Template;
+import org.skife.jdbi.v2.ResultIterator;
 
 import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TemplateControllerJdbi implements TemplateController {
     @Inject
@@ -20,6 +25,17 @@ public class TemplateControllerJdbi implements TemplateController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Rows are mapped as they are read; the connection is held until the stream is closed
+     */
+    @Override
+    public Stream<Template> streamAll() {
+        ResultIterator<TemplateDb> rows = dao.iterateAll();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                .onClose(rows::close)
+                .map(TemplateDb::toModel);
+    }
+
     @Override
     public Template get(int id) {
         TemplateDb found = dao.select(id);
@@ -2,6 +2,7 @@ package jante.template.db.dao;
 
 import jante.template.db.model.TemplateDb;
 import org.eclipse.jetty.server.Authentication;
+import org.skife.jdbi.v2.ResultIterator;
 import org.skife.jdbi.v2.sqlobject.*;
 import org.skife.jdbi.v2.sqlobject.customizers.RegisterMapper;
 
@@ -15,6 +16,9 @@ public interface TemplateDao {
         @SqlQuery("SELECT * FROM template ORDER BY startDate")
         List<TemplateDb> selectAll();
 
+        @SqlQuery("SELECT * FROM template ORDER BY startDate")
+        ResultIterator<TemplateDb> iterateAll();
+
         @GetGeneratedKeys
         @SqlUpdate("INSERT INTO template(name, value, startDate) VALUES (:name, :value, :startDate)")
         int insert(@BindBean TemplateDb toInsert);
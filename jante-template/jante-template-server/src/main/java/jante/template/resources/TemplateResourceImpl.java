@@ -6,6 +6,7 @@ import jante.template.model.Template;
 
 import javax.inject.Inject;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -18,6 +19,11 @@ public class TemplateResourceImpl implements TemplateResource {
         return controller.getAll().stream().map(Template::toDto).collect(toList());
     }
 
+    @Override
+    public Stream<TemplateDto> streamAllTemplates() {
+        return controller.streamAll().map(Template::toDto);
+    }
+
     @Override
     public TemplateDto getTemplate(int id) {
         return controller.get(id).toDto();
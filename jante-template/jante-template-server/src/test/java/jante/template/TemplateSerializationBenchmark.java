@@ -0,0 +1,81 @@
+package jante.template;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jante.model.SerializationSpec;
+import jante.template.dto.TemplateDto;
+import jante.template.dto.TemplateNestedDto;
+import jante.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Serialization of template DTOs with the standard spec, with and without BYTECODE_ACCESSORS.
+ * Run main from the test classpath; not run by the build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateSerializationBenchmark {
+    @Param({"reflection", "bytecode"})
+    String accessors;
+
+    List<TemplateDto> templates;
+    ObjectWriter writer;
+    ObjectReader reader;
+    byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        SerializationSpec spec = "bytecode".equals(accessors)
+                ? SerializationSpec.create(Stream.concat(
+                        SerializationSpec.standard.getOptions().stream(),
+                        Stream.of(SerializationSpec.BYTECODE_ACCESSORS)
+                ).toArray(String[]::new))
+                : SerializationSpec.standard;
+        templates = IntStream.range(0, 100)
+                .mapToObj(i -> TemplateDto.builder()
+                        .id(i)
+                        .name("Template " + i)
+                        .startDate(LocalDate.of(2018, 1, 1).plusDays(i))
+                        .nested(TemplateNestedDto.builder().value(i * 1.5).build())
+                        .build())
+                .collect(Collectors.toList());
+        writer = JsonUtil.writer(spec).forType(new TypeReference<List<TemplateDto>>() {
+        });
+        reader = JsonUtil.reader(spec).forType(new TypeReference<List<TemplateDto>>() {
+        });
+        json = writer.writeValueAsBytes(templates);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(templates);
+    }
+
+    @Benchmark
+    public List<TemplateDto> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TemplateSerializationBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 import static jante.Injections.injections;
 import static jante.TestServiceRunner.testServiceRunner;
@@ -71,6 +72,12 @@ public class TemplateCrudForVariousBackends {
                         assertThat(resource.getAllTemplates())
                                 .hasSize(1)
                 )
+                .call(TemplateResource.class, resource -> {
+                    try (Stream<TemplateDto> templates = resource.streamAllTemplates()) {
+                        assertThat(templates)
+                                .containsExactly(ORIGINAL.toBuilder().id(1).build());
+                    }
+                })
                 .run()
         ;
     }